@@ -0,0 +1,10 @@
+package com.fiap.easyconsult.core.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record AvailableSlot(
+        LocalDate date,
+        LocalTime start,
+        LocalTime end
+) {}
@@ -24,7 +24,13 @@ public class Consult implements Serializable {
     private final ConsultDateTime dateTime;
 
     private Consult(Builder builder) {
-        validateConsult(builder);
+        this(builder, true);
+    }
+
+    private Consult(Builder builder, boolean validate) {
+        if (validate) {
+            validateConsult(builder);
+        }
         this.id = builder.id;
         this.reason = builder.reason;
         this.status = builder.status;
@@ -131,6 +137,17 @@ public class Consult implements Serializable {
         public Consult build() {
             return new Consult(this);
         }
+
+        /**
+         * Builds a read projection that may lack reason, status or participants. Only the
+         * fields needed to identify and order the consult are required.
+         */
+        public Consult buildPartial() {
+            if (id == null || dateTime == null) {
+                throw new DomainException("Consult id and date/time are required", "CONSTRAINT_VIOLATION");
+            }
+            return new Consult(this, false);
+        }
     }
 
     @Override
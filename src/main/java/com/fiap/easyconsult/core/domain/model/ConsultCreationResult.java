@@ -0,0 +1,51 @@
+package com.fiap.easyconsult.core.domain.model;
+
+/**
+ * Outcome of one item of a bulk creation, identified by its position in the request.
+ */
+public class ConsultCreationResult {
+
+    private final int index;
+    private final Consult consult;
+    private final String code;
+    private final String message;
+
+    private ConsultCreationResult(int index, Consult consult, String code, String message) {
+        this.index = index;
+        this.consult = consult;
+        this.code = code;
+        this.message = message;
+    }
+
+    public static ConsultCreationResult created(int index, Consult consult) {
+        return new ConsultCreationResult(index, consult, null, null);
+    }
+
+    public static ConsultCreationResult failed(int index, String code, String message) {
+        return new ConsultCreationResult(index, null, code, message);
+    }
+
+    public ConsultCreationResult withIndex(int newIndex) {
+        return new ConsultCreationResult(newIndex, consult, code, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Consult getConsult() {
+        return consult;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isSuccess() {
+        return consult != null;
+    }
+}
@@ -1,14 +1,21 @@
 package com.fiap.easyconsult.core.domain.model;
 
+import com.fiap.easyconsult.core.domain.valueobject.ConsultOrder;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.exception.DomainException;
 import lombok.Builder;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
-@Builder
 public class ConsultFilter implements Serializable {
 
     @Serial
@@ -20,14 +27,45 @@ public class ConsultFilter implements Serializable {
     private ConsultStatus status;
     private LocalTime localTime;
     private LocalDate date;
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+    private Set<ConsultStatus> statusIn;
+    private LocalTime timeFrom;
+    private LocalTime timeTo;
+    private List<ConsultOrder> orderBy;
 
     public ConsultFilter(Long id, String patientEmail, String professionalEmail, ConsultStatus status,
                               LocalTime localTime, LocalDate date) {
+        this(id, patientEmail, professionalEmail, status, localTime, date, null, null, null, null, null, null);
+    }
+
+    /**
+     * Ranges are inclusive on both ends; an empty {@code statusIn} does not restrict the status.
+     */
+    @Builder
+    private ConsultFilter(Long id, String patientEmail, String professionalEmail, ConsultStatus status,
+                          LocalTime localTime, LocalDate date, LocalDate dateFrom, LocalDate dateTo,
+                          Collection<ConsultStatus> statusIn, LocalTime timeFrom, LocalTime timeTo,
+                          List<ConsultOrder> orderBy) {
+        if (dateFrom != null && dateTo != null && dateFrom.isAfter(dateTo)) {
+            throw new DomainException("dateFrom must not be after dateTo", "INVALID_FILTER");
+        }
+        if (timeFrom != null && timeTo != null && timeFrom.isAfter(timeTo)) {
+            throw new DomainException("timeFrom must not be after timeTo", "INVALID_FILTER");
+        }
         this.patientEmail = patientEmail;
         this.professionalEmail = professionalEmail;
         this.status = status;
         this.localTime = localTime;
         this.date = date;
+        this.dateFrom = dateFrom;
+        this.dateTo = dateTo;
+        this.statusIn = statusIn == null || statusIn.isEmpty()
+                ? Set.of()
+                : Set.copyOf(EnumSet.copyOf(statusIn));
+        this.timeFrom = timeFrom;
+        this.timeTo = timeTo;
+        this.orderBy = orderBy != null ? List.copyOf(orderBy) : List.of();
     }
 
     public Long getId() {
@@ -74,15 +112,94 @@ public class ConsultFilter implements Serializable {
         this.status = status;
     }
 
+    public LocalDate getDateFrom() {
+        return dateFrom;
+    }
+
+    public LocalDate getDateTo() {
+        return dateTo;
+    }
+
+    public Set<ConsultStatus> getStatusIn() {
+        return statusIn;
+    }
+
+    public LocalTime getTimeFrom() {
+        return timeFrom;
+    }
+
+    public LocalTime getTimeTo() {
+        return timeTo;
+    }
+
+    /**
+     * Requested ordering of the results; does not restrict which consults match.
+     */
+    public List<ConsultOrder> getOrderBy() {
+        return orderBy;
+    }
+
+    public void setOrderBy(List<ConsultOrder> orderBy) {
+        this.orderBy = orderBy != null ? List.copyOf(orderBy) : List.of();
+    }
+
+    public boolean isEmpty() {
+        return patientEmail == null && professionalEmail == null && status == null
+                && localTime == null && date == null && dateFrom == null && dateTo == null
+                && statusIn.isEmpty() && timeFrom == null && timeTo == null;
+    }
+
+    public boolean matches(Consult consult) {
+        return matchesValue(patientEmail, consult.getPatient().getEmail())
+                && matchesValue(professionalEmail, consult.getProfessional().getEmail())
+                && matchesValue(status, consult.getStatus())
+                && matchesValue(localTime, consult.getTime())
+                && matchesValue(date, consult.getDate())
+                && (statusIn.isEmpty() || statusIn.contains(consult.getStatus()))
+                && matchesRange(dateFrom, dateTo, consult.getDate())
+                && matchesRange(timeFrom, timeTo, consult.getTime());
+    }
+
+    private static boolean matchesValue(Object expected, Object actual) {
+        return expected == null || expected.equals(actual);
+    }
+
+    private static <T extends Comparable<? super T>> boolean matchesRange(T from, T to, T actual) {
+        return (from == null || actual.compareTo(from) >= 0) && (to == null || actual.compareTo(to) <= 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConsultFilter that)) return false;
+        return Objects.equals(patientEmail, that.patientEmail) && Objects.equals(professionalEmail, that.professionalEmail)
+                && status == that.status && Objects.equals(localTime, that.localTime) && Objects.equals(date, that.date)
+                && Objects.equals(dateFrom, that.dateFrom) && Objects.equals(dateTo, that.dateTo)
+                && Objects.equals(statusIn, that.statusIn) && Objects.equals(timeFrom, that.timeFrom)
+                && Objects.equals(timeTo, that.timeTo) && Objects.equals(orderBy, that.orderBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(patientEmail, professionalEmail, status, localTime, date,
+                dateFrom, dateTo, statusIn, timeFrom, timeTo, orderBy);
+    }
+
     @Override
     public String toString() {
-        return String.format("filter[%s-%s-%s-%s-%s-%s]",
+        return String.format("filter[%s-%s-%s-%s-%s-%s-%s-%s-%s-%s-%s-%s]",
                 patientEmail,
                 professionalEmail,
                 status != null ? status.name() : "null",
                 localTime != null ? localTime.toString() : "null",
                 date != null ? date.toString() : "null",
-                id != null ? id.toString() : "null"
+                id != null ? id.toString() : "null",
+                dateFrom,
+                dateTo,
+                new TreeSet<>(statusIn),
+                timeFrom,
+                timeTo,
+                orderBy
         );
     }
 
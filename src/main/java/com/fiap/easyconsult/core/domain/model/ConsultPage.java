@@ -0,0 +1,58 @@
+package com.fiap.easyconsult.core.domain.model;
+
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+public class ConsultPage implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final List<Consult> consults;
+    private final List<ConsultCursor> cursors;
+    private final boolean hasNextPage;
+
+    private ConsultPage(List<Consult> consults, List<ConsultCursor> cursors, boolean hasNextPage) {
+        this.consults = consults != null ? List.copyOf(consults) : List.of();
+        this.cursors = cursors != null ? List.copyOf(cursors) : this.consults.stream().map(ConsultCursor::from).toList();
+        this.hasNextPage = hasNextPage;
+    }
+
+    public static ConsultPage of(List<Consult> consults, boolean hasNextPage) {
+        return new ConsultPage(consults, null, hasNextPage);
+    }
+
+    /**
+     * A page whose cursors carry more than (date, time, id), one per consult.
+     */
+    public static ConsultPage of(List<Consult> consults, List<ConsultCursor> cursors, boolean hasNextPage) {
+        return new ConsultPage(consults, cursors, hasNextPage);
+    }
+
+    public static ConsultPage empty() {
+        return new ConsultPage(List.of(), List.of(), false);
+    }
+
+    public List<Consult> getConsults() {
+        return consults;
+    }
+
+    public boolean hasNextPage() {
+        return hasNextPage;
+    }
+
+    public boolean isEmpty() {
+        return consults.isEmpty();
+    }
+
+    public ConsultCursor getCursor(int index) {
+        return cursors.get(index);
+    }
+
+    public ConsultCursor getEndCursor() {
+        return cursors.isEmpty() ? null : cursors.getLast();
+    }
+}
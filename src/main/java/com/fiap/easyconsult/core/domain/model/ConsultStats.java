@@ -0,0 +1,22 @@
+package com.fiap.easyconsult.core.domain.model;
+
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Number of consults in one group. Dimensions that were not grouped by are null.
+ */
+public record ConsultStats(
+        ConsultStatus status,
+        LocalDate date,
+        String professionalName,
+        String professionalEmail,
+        long count
+) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
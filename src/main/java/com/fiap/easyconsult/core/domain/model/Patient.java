@@ -19,10 +19,25 @@ public class Patient implements Serializable {
         this.name = validateName(builder.name);
     }
 
+    private Patient(Long id) {
+        this.id = id;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
 
+    /**
+     * A patient known only by id, used by read paths that resolve name and email separately.
+     */
+    public static Patient reference(Long id) {
+        return new Patient(id);
+    }
+
+    public boolean isReference() {
+        return email == null;
+    }
+
     private String validateName(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Patient name cannot be empty");
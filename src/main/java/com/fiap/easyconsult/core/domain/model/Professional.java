@@ -19,10 +19,25 @@ public class Professional implements Serializable {
         this.name = validateName(builder.name);
     }
 
+    private Professional(Long id) {
+        this.id = id;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
 
+    /**
+     * A professional known only by id, used by read paths that resolve name and email separately.
+     */
+    public static Professional reference(Long id) {
+        return new Professional(id);
+    }
+
+    public boolean isReference() {
+        return email == null;
+    }
+
     private String validateName(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Professional name cannot be empty");
@@ -0,0 +1,112 @@
+package com.fiap.easyconsult.core.domain.valueobject;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.exception.DomainException;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Keyset position of a consult in the ordering used by paginated queries, (date, time, id) by
+ * default. Status and professional name are carried only when the page was ordered by them,
+ * and the search rank only for pages of full-text search results.
+ * Pages resume strictly after this position, so rows inserted meanwhile never shift a cursor.
+ */
+public class ConsultCursor implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private final LocalDate date;
+    private final LocalTime time;
+    private final Long id;
+    private final String status;
+    private final String professionalName;
+    private final BigDecimal rank;
+
+    private ConsultCursor(LocalDate date, LocalTime time, Long id, String status, String professionalName, BigDecimal rank) {
+        if (date == null || time == null || id == null) {
+            throw new DomainException("Cursor date, time and id cannot be null", "CONSTRAINT_VIOLATION");
+        }
+        this.date = date;
+        this.time = time;
+        this.id = id;
+        this.status = status;
+        this.professionalName = professionalName;
+        this.rank = rank;
+    }
+
+    public static ConsultCursor of(LocalDate date, LocalTime time, Long id) {
+        return new ConsultCursor(date, time, id, null, null, null);
+    }
+
+    public static ConsultCursor of(LocalDate date, LocalTime time, Long id, String status, String professionalName) {
+        return new ConsultCursor(date, time, id, status, professionalName, null);
+    }
+
+    public static ConsultCursor ranked(LocalDate date, LocalTime time, Long id, BigDecimal rank) {
+        return new ConsultCursor(date, time, id, null, null, rank);
+    }
+
+    public static ConsultCursor from(Consult consult) {
+        return new ConsultCursor(consult.getDate(), consult.getTime(), consult.getId().getValue(), null, null, null);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getProfessionalName() {
+        return professionalName;
+    }
+
+    public BigDecimal getRank() {
+        return rank;
+    }
+
+    /**
+     * Value of the cursor for an ordering column, or null when the cursor was not built for it.
+     */
+    public Object valueOf(ConsultSortField field) {
+        return switch (field) {
+            case DATE -> date;
+            case TIME -> time;
+            case STATUS -> status;
+            case PROFESSIONAL -> professionalName;
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConsultCursor that)) return false;
+        return Objects.equals(date, that.date) && Objects.equals(time, that.time) && Objects.equals(id, that.id)
+                && Objects.equals(status, that.status) && Objects.equals(professionalName, that.professionalName)
+                && Objects.equals(rank, that.rank);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, time, id, status, professionalName, rank);
+    }
+
+    @Override
+    public String toString() {
+        return date + "|" + time + "|" + id + (status != null ? "|" + status : "") + (professionalName != null ? "|" + professionalName : "")
+                + (rank != null ? "|" + rank : "");
+    }
+}
@@ -0,0 +1,19 @@
+package com.fiap.easyconsult.core.domain.valueobject;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Optional parts of a consult that a read may ask for. Id, date and time are always
+ * loaded because pagination cursors are built from them.
+ */
+public enum ConsultField {
+    REASON,
+    STATUS,
+    PATIENT,
+    PROFESSIONAL;
+
+    public static Set<ConsultField> all() {
+        return EnumSet.allOf(ConsultField.class);
+    }
+}
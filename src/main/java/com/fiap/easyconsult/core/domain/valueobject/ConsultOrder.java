@@ -0,0 +1,42 @@
+package com.fiap.easyconsult.core.domain.valueobject;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public record ConsultOrder(ConsultSortField field, boolean descending) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static ConsultOrder asc(ConsultSortField field) {
+        return new ConsultOrder(field, false);
+    }
+
+    public static ConsultOrder desc(ConsultSortField field) {
+        return new ConsultOrder(field, true);
+    }
+
+    /**
+     * The requested ordering completed to a total one: repeated fields are dropped and date and
+     * time are appended when missing. The id is the final tie-breaker and is not part of the list.
+     */
+    public static List<ConsultOrder> total(List<ConsultOrder> requested) {
+        List<ConsultOrder> orders = new ArrayList<>();
+        Set<ConsultSortField> seen = EnumSet.noneOf(ConsultSortField.class);
+        if (requested != null) {
+            requested.stream()
+                    .filter(order -> seen.add(order.field()))
+                    .forEach(orders::add);
+        }
+        for (ConsultSortField field : List.of(ConsultSortField.DATE, ConsultSortField.TIME)) {
+            if (seen.add(field)) {
+                orders.add(asc(field));
+            }
+        }
+        return orders;
+    }
+}
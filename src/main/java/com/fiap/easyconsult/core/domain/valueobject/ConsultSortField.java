@@ -0,0 +1,11 @@
+package com.fiap.easyconsult.core.domain.valueobject;
+
+/**
+ * Columns a consult read can be ordered by. {@code PROFESSIONAL} orders by the professional's name.
+ */
+public enum ConsultSortField {
+    DATE,
+    TIME,
+    STATUS,
+    PROFESSIONAL
+}
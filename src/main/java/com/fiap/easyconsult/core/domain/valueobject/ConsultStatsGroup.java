@@ -0,0 +1,10 @@
+package com.fiap.easyconsult.core.domain.valueobject;
+
+/**
+ * Dimensions consult counts can be grouped by.
+ */
+public enum ConsultStatsGroup {
+    STATUS,
+    DATE,
+    PROFESSIONAL
+}
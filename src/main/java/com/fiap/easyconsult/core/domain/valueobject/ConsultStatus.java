@@ -1,5 +1,10 @@
 package com.fiap.easyconsult.core.domain.valueobject;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public enum ConsultStatus {
     SCHEDULED,
     CANCELLED,
@@ -15,4 +20,17 @@ public enum ConsultStatus {
             default -> false;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Only open consults move, and only to a final status.
+     */
+    public boolean canTransitionTo(ConsultStatus target) {
+        return !isFinalized() && target != null && target.isFinalized();
+    }
+
+    public static Set<ConsultStatus> sourcesOf(ConsultStatus target) {
+        return Arrays.stream(values())
+                .filter(status -> status.canTransitionTo(target))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ConsultStatus.class)));
+    }
+}
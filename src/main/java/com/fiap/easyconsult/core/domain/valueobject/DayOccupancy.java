@@ -0,0 +1,63 @@
+package com.fiap.easyconsult.core.domain.valueobject;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Minute-by-minute occupancy of one professional's day: one bit per minute, 180 bytes per day.
+ * Instances are immutable; a change to the day produces a new one.
+ */
+public final class DayOccupancy {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final BitSet busy;
+
+    private DayOccupancy(BitSet busy) {
+        this.busy = busy;
+    }
+
+    /**
+     * A day where only {@code [open, close)} can be booked, with a consult of
+     * {@code consultMinutes} starting at each of {@code starts}.
+     */
+    public static DayOccupancy of(LocalTime open, LocalTime close, Collection<LocalTime> starts, int consultMinutes) {
+        BitSet busy = new BitSet(MINUTES_PER_DAY);
+        busy.set(0, minuteOf(open));
+        busy.set(Math.max(minuteOf(open), minuteOf(close)), MINUTES_PER_DAY);
+        for (LocalTime start : starts) {
+            int from = minuteOf(start);
+            busy.set(from, Math.min(from + consultMinutes, MINUTES_PER_DAY));
+        }
+        return new DayOccupancy(busy);
+    }
+
+    /**
+     * Free slots of {@code slotMinutes} starting at or after {@code notBefore}, packed from the
+     * start of each gap. Cost grows with the number of gaps, not with the length of the day.
+     */
+    public List<LocalTime> freeSlots(LocalTime notBefore, int slotMinutes) {
+        List<LocalTime> slots = new ArrayList<>();
+        int minute = busy.nextClearBit(minuteOf(notBefore));
+        while (minute + slotMinutes <= MINUTES_PER_DAY) {
+            int gapEnd = nextBusy(minute);
+            for (; minute + slotMinutes <= gapEnd; minute += slotMinutes) {
+                slots.add(LocalTime.of(minute / 60, minute % 60));
+            }
+            minute = busy.nextClearBit(gapEnd);
+        }
+        return slots;
+    }
+
+    private int nextBusy(int from) {
+        int next = busy.nextSetBit(from);
+        return next < 0 ? MINUTES_PER_DAY : next;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
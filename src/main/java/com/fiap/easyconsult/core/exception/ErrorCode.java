@@ -7,7 +7,9 @@ public enum ErrorCode implements ErrorClassification {
     VALIDATION_ERROR("Erro de validação"),
     INTERNAL_ERROR("Erro interno inesperado"),
     INVALID_ARGUMENT("Argumento inválido"),
-    FORBIDDEN("Acesso negado");
+    FORBIDDEN("Acesso negado"),
+    QUERY_LIMIT_EXCEEDED("Limite de custo da consulta excedido"),
+    RATE_LIMITED("Limite de requisições excedido");
 
     private final String defaultMessage;
 
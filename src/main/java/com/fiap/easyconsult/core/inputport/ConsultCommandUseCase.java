@@ -1,13 +1,24 @@
 package com.fiap.easyconsult.core.inputport;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
 import com.fiap.easyconsult.core.domain.model.UpdateConsult;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+
+import java.util.List;
 
 public interface ConsultCommandUseCase {
 
+    int MAX_BATCH_SIZE = 500;
+
     Consult createConsult(Consult consult);
+
+    List<ConsultCreationResult> createConsults(List<Consult> consults);
     
     Consult updateConsult(UpdateConsult updateConsult);
+
+    List<Consult> updateStatus(ConsultFilter filter, ConsultStatus status);
     
     void deleteConsult(Long consultId);
 
@@ -1,13 +1,31 @@
 package com.fiap.easyconsult.core.inputport;
 
+import com.fiap.easyconsult.core.domain.model.AvailableSlot;
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.ConsultPage;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatsGroup;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ConsultQueryUseCase {
 
-    List<Consult> findWithFilters(ConsultFilter consultFilter);
-    List<Consult> findAll();
+    void streamConsults(ConsultFilter consultFilter, Consumer<Consult> consumer);
+    ConsultPage findPage(ConsultFilter consultFilter, ConsultCursor after, int first);
+    ConsultPage findPage(ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields);
+    ConsultPage searchConsults(String text, ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields);
+    Map<Long, Patient> findPatients(Set<Long> ids);
+    Map<Long, Professional> findProfessionals(Set<Long> ids);
+    List<ConsultStats> countConsults(ConsultFilter consultFilter, Set<ConsultStatsGroup> groupBy);
+    List<AvailableSlot> findAvailableSlots(String professionalEmail, LocalDate from, LocalDate to, int slotMinutes);
 
 }
@@ -2,11 +2,28 @@ package com.fiap.easyconsult.core.outputport;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.ConsultPage;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatsGroup;
+import com.fiap.easyconsult.core.domain.valueobject.DayOccupancy;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface FindByGateway {
 
-     List<Consult> findWithFilters(ConsultFilter consultFilter);
-     List<Consult> findAll();
+     void streamAll(ConsultFilter consultFilter, Consumer<Consult> consumer);
+     ConsultPage findPage(ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields);
+     ConsultPage searchByText(String text, ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields);
+     Map<Long, Patient> findPatientsByIds(Set<Long> ids);
+     Map<Long, Professional> findProfessionalsByIds(Set<Long> ids);
+     List<ConsultStats> countGroupedBy(ConsultFilter consultFilter, Set<ConsultStatsGroup> groupBy);
+     Map<LocalDate, DayOccupancy> findOccupancy(String professionalEmail, LocalDate from, LocalDate to);
 }
@@ -1,9 +1,14 @@
 package com.fiap.easyconsult.core.outputport;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
+
+import java.util.List;
 
 public interface SaveGateway {
 
     Consult save(Consult consult);
 
+    List<ConsultCreationResult> saveAll(List<Consult> consults);
+
 }
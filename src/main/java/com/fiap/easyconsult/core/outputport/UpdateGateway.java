@@ -1,10 +1,16 @@
 package com.fiap.easyconsult.core.outputport;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
 import com.fiap.easyconsult.core.domain.model.UpdateConsult;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+
+import java.util.List;
 
 public interface UpdateGateway {
     
     Consult update(UpdateConsult updateConsult);
+
+    List<Consult> updateStatus(ConsultFilter filter, ConsultStatus status);
     
 }
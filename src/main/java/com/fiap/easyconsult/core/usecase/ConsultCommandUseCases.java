@@ -1,13 +1,19 @@
 package com.fiap.easyconsult.core.usecase;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
 import com.fiap.easyconsult.core.domain.model.UpdateConsult;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.exception.DomainException;
 import com.fiap.easyconsult.core.inputport.ConsultCommandUseCase;
 import com.fiap.easyconsult.core.outputport.DeleteGateway;
 import com.fiap.easyconsult.core.outputport.SaveGateway;
 import com.fiap.easyconsult.core.outputport.UpdateGateway;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class ConsultCommandUseCases implements ConsultCommandUseCase {
 
@@ -26,11 +32,33 @@ public class ConsultCommandUseCases implements ConsultCommandUseCase {
         return saveGateway.save(consult);
     }
 
+    @Override
+    public List<ConsultCreationResult> createConsults(List<Consult> consults) {
+        if (consults == null || consults.size() > MAX_BATCH_SIZE) {
+            throw new DomainException("Batch size must be at most " + MAX_BATCH_SIZE, "INVALID_BATCH_SIZE");
+        }
+        if (consults.isEmpty()) {
+            return List.of();
+        }
+        return saveGateway.saveAll(consults);
+    }
+
     @Override
     public Consult updateConsult(UpdateConsult updateConsult) {
         return updateGateway.update(updateConsult);
     }
 
+    @Override
+    public List<Consult> updateStatus(ConsultFilter filter, ConsultStatus status) {
+        if (filter == null || filter.isEmpty()) {
+            throw new DomainException("A filter is required to update consults in bulk", "FILTER_REQUIRED");
+        }
+        if (ConsultStatus.sourcesOf(status).isEmpty()) {
+            throw new DomainException("No consult can transition to status: " + status, "INVALID_STATUS_TRANSITION");
+        }
+        return updateGateway.updateStatus(filter, status);
+    }
+
     @Override
     public void deleteConsult(Long consultId) {
         deleteGateway.delete(consultId);
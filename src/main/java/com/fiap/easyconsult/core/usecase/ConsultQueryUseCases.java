@@ -1,18 +1,41 @@
 package com.fiap.easyconsult.core.usecase;
 
+import com.fiap.easyconsult.core.domain.model.AvailableSlot;
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.ConsultPage;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultOrder;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatsGroup;
+import com.fiap.easyconsult.core.exception.DomainException;
 import com.fiap.easyconsult.core.inputport.ConsultQueryUseCase;
 import com.fiap.easyconsult.core.outputport.FindByGateway;
-import com.fiap.easyconsult.infra.exception.GatewayException;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Component
 public class ConsultQueryUseCases implements ConsultQueryUseCase {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_AVAILABILITY_DAYS = 31;
+    public static final int MIN_SLOT_MINUTES = 5;
+    public static final int MAX_SLOT_MINUTES = 8 * 60;
+    public static final int MAX_SEARCH_TEXT_LENGTH = 200;
+
     private final FindByGateway gateway;
 
     public ConsultQueryUseCases(FindByGateway gateway) {
@@ -20,16 +43,96 @@ public class ConsultQueryUseCases implements ConsultQueryUseCase {
     }
 
     @Override
-    public List<Consult> findWithFilters(ConsultFilter consultFilter) {
-        return Optional.ofNullable(gateway.findWithFilters(consultFilter))
-                .filter(list -> !list.isEmpty())
-                .orElseThrow(() -> new GatewayException("No consults found for the given filter.", "CONSULT_NOT_FOUND"));
+    public void streamConsults(ConsultFilter consultFilter, Consumer<Consult> consumer) {
+        gateway.streamAll(consultFilter, consumer);
+    }
+
+    @Override
+    public ConsultPage findPage(ConsultFilter consultFilter, ConsultCursor after, int first) {
+        return findPage(consultFilter, after, first, ConsultField.all());
     }
 
     @Override
-    public List<Consult> findAll() {
-        return Optional.ofNullable(gateway.findAll())
-                .filter(list -> !list.isEmpty())
-                .orElseThrow(() -> new GatewayException("No consults found.", "CONSULT_NOT_FOUND"));
+    public ConsultPage findPage(ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields) {
+        if (first < 1 || first > MAX_PAGE_SIZE) {
+            throw new DomainException("Page size must be between 1 and " + MAX_PAGE_SIZE, "INVALID_PAGE_SIZE");
+        }
+        if (after != null && consultFilter != null && ConsultOrder.total(consultFilter.getOrderBy()).stream()
+                .anyMatch(order -> after.valueOf(order.field()) == null)) {
+            throw new DomainException("Cursor was not issued for the requested ordering", "INVALID_CURSOR");
+        }
+        Set<ConsultField> projection = fields != null ? fields : ConsultField.all();
+        return Optional.ofNullable(gateway.findPage(consultFilter, after, first, projection))
+                .orElseGet(ConsultPage::empty);
+    }
+
+    @Override
+    public ConsultPage searchConsults(String text, ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields) {
+        if (text == null || text.isBlank() || text.length() > MAX_SEARCH_TEXT_LENGTH) {
+            throw new DomainException("Search text must have between 1 and " + MAX_SEARCH_TEXT_LENGTH + " characters", "INVALID_SEARCH_TEXT");
+        }
+        if (first < 1 || first > MAX_PAGE_SIZE) {
+            throw new DomainException("Page size must be between 1 and " + MAX_PAGE_SIZE, "INVALID_PAGE_SIZE");
+        }
+        // Results are ordered by rank, so only cursors issued by a search can resume them
+        if (after != null && after.getRank() == null) {
+            throw new DomainException("Cursor was not issued for a search", "INVALID_CURSOR");
+        }
+        Set<ConsultField> projection = fields != null ? fields : ConsultField.all();
+        return Optional.ofNullable(gateway.searchByText(text.strip(), consultFilter, after, first, projection))
+                .orElseGet(ConsultPage::empty);
+    }
+
+    @Override
+    public Map<Long, Patient> findPatients(Set<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        return Optional.ofNullable(gateway.findPatientsByIds(ids)).orElseGet(Map::of);
+    }
+
+    @Override
+    public Map<Long, Professional> findProfessionals(Set<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        return Optional.ofNullable(gateway.findProfessionalsByIds(ids)).orElseGet(Map::of);
+    }
+
+    @Override
+    public List<ConsultStats> countConsults(ConsultFilter consultFilter, Set<ConsultStatsGroup> groupBy) {
+        // Without dimensions the result is a single row with the total
+        Set<ConsultStatsGroup> groups = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(ConsultStatsGroup.class)
+                : EnumSet.copyOf(groupBy);
+        return Optional.ofNullable(gateway.countGroupedBy(consultFilter, groups)).orElseGet(List::of);
+    }
+
+    @Override
+    public List<AvailableSlot> findAvailableSlots(String professionalEmail, LocalDate from, LocalDate to, int slotMinutes) {
+        if (professionalEmail == null || professionalEmail.isBlank()) {
+            throw new DomainException("Professional email is required", "PROFESSIONAL_REQUIRED");
+        }
+        if (from == null || to == null || to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new DomainException("Date range must have between 1 and " + MAX_AVAILABILITY_DAYS + " days", "INVALID_DATE_RANGE");
+        }
+        if (slotMinutes < MIN_SLOT_MINUTES || slotMinutes > MAX_SLOT_MINUTES) {
+            throw new DomainException("Slot duration must be between " + MIN_SLOT_MINUTES + " and " + MAX_SLOT_MINUTES + " minutes", "INVALID_SLOT_DURATION");
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate first = from.isBefore(today) ? today : from;
+        if (first.isAfter(to)) {
+            return List.of();
+        }
+
+        List<AvailableSlot> slots = new ArrayList<>();
+        gateway.findOccupancy(professionalEmail, first, to).forEach((date, occupancy) -> {
+            // Slots that already started today are not offered
+            LocalTime notBefore = date.equals(today) ? LocalTime.now().truncatedTo(ChronoUnit.MINUTES) : LocalTime.MIDNIGHT;
+            occupancy.freeSlots(notBefore, slotMinutes)
+                    .forEach(start -> slots.add(new AvailableSlot(date, start, start.plusMinutes(slotMinutes))));
+        });
+        return slots;
     }
 }
@@ -0,0 +1,101 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.ConsultPage;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatsGroup;
+import com.fiap.easyconsult.core.domain.valueobject.DayOccupancy;
+import com.fiap.easyconsult.core.outputport.FindByGateway;
+import com.fiap.easyconsult.infra.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Merges identical concurrent reads into a single call to {@link FindByGatewayImpl}.
+ *
+ * Sits in front of the cache proxy, so a burst of equal requests on a cold cache runs one query
+ * and fills the cache once; the other callers get the same result. Keys are the method name and
+ * its arguments, which rely on the value equality of {@link ConsultFilter} and {@link ConsultCursor}.
+ * Reads pinned to the primary by the {@link ReplicaRoutingDataSource} are never merged, so they
+ * neither get a replica's older result nor hand theirs to other callers.
+ */
+@Primary
+@Service
+public class CoalescingFindByGateway implements FindByGateway {
+
+    private final FindByGateway delegate;
+    private final ReplicaRoutingDataSource replicaRouting;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    public CoalescingFindByGateway(@Qualifier("findByGatewayImpl") FindByGateway delegate,
+                                   ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
+        this.delegate = delegate;
+        this.replicaRouting = replicaRouting.getIfAvailable();
+    }
+
+    // Each caller has its own consumer, so streams are never shared
+    @Override
+    public void streamAll(ConsultFilter consultFilter, Consumer<Consult> consumer) {
+        delegate.streamAll(consultFilter, consumer);
+    }
+
+    @Override
+    public ConsultPage findPage(ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields) {
+        return coalesce(key("findPage", consultFilter, after, first, fields),
+                () -> delegate.findPage(consultFilter, after, first, fields));
+    }
+
+    @Override
+    public ConsultPage searchByText(String text, ConsultFilter consultFilter, ConsultCursor after, int first, Set<ConsultField> fields) {
+        return coalesce(key("searchByText", text, consultFilter, after, first, fields),
+                () -> delegate.searchByText(text, consultFilter, after, first, fields));
+    }
+
+    @Override
+    public Map<Long, Patient> findPatientsByIds(Set<Long> ids) {
+        return coalesce(key("findPatientsByIds", ids), () -> delegate.findPatientsByIds(ids));
+    }
+
+    @Override
+    public Map<Long, Professional> findProfessionalsByIds(Set<Long> ids) {
+        return coalesce(key("findProfessionalsByIds", ids), () -> delegate.findProfessionalsByIds(ids));
+    }
+
+    @Override
+    public List<ConsultStats> countGroupedBy(ConsultFilter consultFilter, Set<ConsultStatsGroup> groupBy) {
+        return coalesce(key("countGroupedBy", consultFilter, groupBy), () -> delegate.countGroupedBy(consultFilter, groupBy));
+    }
+
+    @Override
+    public Map<LocalDate, DayOccupancy> findOccupancy(String professionalEmail, LocalDate from, LocalDate to) {
+        return coalesce(key("findOccupancy", professionalEmail, from, to),
+                () -> delegate.findOccupancy(professionalEmail, from, to));
+    }
+
+    private <T> T coalesce(List<Object> key, Supplier<T> call) {
+        if (replicaRouting != null && replicaRouting.pinnedToPrimary()) {
+            return call.get();
+        }
+        return singleFlight.execute(key, call);
+    }
+
+    private static List<Object> key(Object... parts) {
+        // Arrays.asList accepts the null arguments the gateway allows (no filter, no cursor)
+        return Arrays.asList(parts);
+    }
+}
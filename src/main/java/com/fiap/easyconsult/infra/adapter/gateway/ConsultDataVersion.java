@@ -0,0 +1,80 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the consult data, bumped by the write gateways after every change.
+ *
+ * Read responses are tagged with it, so a client holding the current version can be answered
+ * without touching the database. With the {@code redis} store all instances share the counter;
+ * the {@code memory} store is only correct for a single instance and restarts with a new epoch.
+ */
+@Slf4j
+@Component
+public class ConsultDataVersion {
+
+    private static final String VERSION_KEY = "easyconsult:consult-data-version";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong localVersion = new AtomicLong();
+
+    public ConsultDataVersion(ObjectProvider<StringRedisTemplate> redisTemplate,
+                              @Value("${app.graphql.etag.version-store:memory}") String versionStore) {
+        this.redisTemplate = "redis".equalsIgnoreCase(versionStore) ? redisTemplate.getIfAvailable() : null;
+    }
+
+    /**
+     * Returns the current version, or null when it cannot be read and responses must not be tagged.
+     */
+    public String current() {
+        if (redisTemplate == null) {
+            return epoch + "." + localVersion.get();
+        }
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY);
+            return version != null ? version : "0";
+        } catch (RuntimeException ex) {
+            log.warn("Could not read consult data version", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Bumps the version, deferred to after commit when called inside a transaction so that no
+     * reader can tag pre-commit data with the new version.
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            });
+            return;
+        }
+        increment();
+    }
+
+    private void increment() {
+        if (redisTemplate == null) {
+            localVersion.incrementAndGet();
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().increment(VERSION_KEY);
+        } catch (RuntimeException ex) {
+            log.error("Could not bump consult data version", ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Native SQL counterpart of the JPQL filter conditions, for statements issued through
+ * {@code JdbcTemplate} against the {@code consults} table aliased as {@code c}.
+ */
+final class ConsultFilterSql {
+
+    private ConsultFilterSql() {
+    }
+
+    /**
+     * Appends one condition per filter field with its positional parameters. Status conditions are
+     * skipped when {@code withStatus} is false, for callers that fold them into their own predicate.
+     */
+    static void addConditions(ConsultFilter filter, boolean withStatus, List<String> condition, List<Object> parameters) {
+        if (filter.getPatientEmail() != null) {
+            condition.add("c.patient IN (SELECT pa.id FROM patient pa WHERE pa.email = ?)");
+            parameters.add(filter.getPatientEmail());
+        }
+        if (filter.getProfessionalEmail() != null) {
+            condition.add("c.professional IN (SELECT pf.id FROM professional pf WHERE pf.email = ?)");
+            parameters.add(filter.getProfessionalEmail());
+        }
+        if (withStatus && filter.getStatus() != null) {
+            condition.add("c.status = ?");
+            parameters.add(filter.getStatus().name());
+        }
+        if (withStatus && !filter.getStatusIn().isEmpty()) {
+            condition.add("c.status IN (" + String.join(", ", Collections.nCopies(filter.getStatusIn().size(), "?")) + ")");
+            filter.getStatusIn().forEach(status -> parameters.add(status.name()));
+        }
+        addCondition(filter.getDate(), "c.local_date = ?", condition, parameters);
+        addCondition(filter.getLocalTime(), "c.local_time = ?", condition, parameters);
+        addCondition(filter.getDateFrom(), "c.local_date >= ?", condition, parameters);
+        addCondition(filter.getDateTo(), "c.local_date <= ?", condition, parameters);
+        addCondition(filter.getTimeFrom(), "c.local_time >= ?", condition, parameters);
+        addCondition(filter.getTimeTo(), "c.local_time <= ?", condition, parameters);
+    }
+
+    private static void addCondition(Object value, String comparison, List<String> condition, List<Object> parameters) {
+        if (value != null) {
+            condition.add(comparison);
+            parameters.add(value);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.domain.valueobject.DayOccupancy;
+import com.fiap.easyconsult.infra.config.ReplicaRoutingDataSource;
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per professional and day occupancy bitmaps used by the slot search.
+ *
+ * Days are loaded on first use, all missing days of a search in one query, and then kept
+ * current from consult change events after commit. Events only reach this instance, so
+ * entries expire after a short time to pick up changes made by other instances. The day each
+ * cached consult occupies is indexed by id, so a change finds its previous slot without a scan.
+ * A load that overlaps a change of the same professional is queried again instead of cached.
+ */
+@Slf4j
+@Component
+public class ConsultOccupancyIndex {
+
+    // Status as a literal so PostgreSQL can match the partial index on active consults
+    private static final String SCHEDULE_QUERY = "SELECT c.id AS id, c.localDate AS localDate, c.localTime AS localTime"
+            + " FROM ConsultEntity c WHERE c.professional.email = :email"
+            + " AND c.localDate BETWEEN :from AND :to AND c.status <> '" + ConsultStatus.CANCELLED.name() + "'";
+
+    private static final int CHANGE_STRIPES = 1024;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Cache<DayKey, DaySchedule> days;
+    private final Map<Long, DayKey> dayOfConsult = new ConcurrentHashMap<>();
+    // Changes seen per professional, striped by email; a collision only costs a reload
+    private final AtomicLongArray changes = new AtomicLongArray(CHANGE_STRIPES);
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final int consultMinutes;
+
+    public ConsultOccupancyIndex(@Value("${app.schedule.day-start:08:00}") String dayStart,
+                                 @Value("${app.schedule.day-end:18:00}") String dayEnd,
+                                 @Value("${app.schedule.consult-minutes:30}") int consultMinutes,
+                                 @Value("${app.schedule.occupancy.max-days:10000}") long maxDays,
+                                 @Value("${app.schedule.occupancy.ttl:5m}") Duration ttl) {
+        this.dayStart = LocalTime.parse(dayStart);
+        this.dayEnd = LocalTime.parse(dayEnd);
+        this.consultMinutes = consultMinutes;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(ttl)
+                // Synchronous, unlike a removal listener, so a day reloaded right away keeps its ids
+                .evictionListener((DayKey key, DaySchedule schedule, RemovalCause cause) -> forget(key, schedule))
+                .build();
+    }
+
+    public Map<LocalDate, DayOccupancy> occupancy(String professionalEmail, LocalDate from, LocalDate to) {
+        Map<LocalDate, DayOccupancy> result = new LinkedHashMap<>();
+        boolean missing = false;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DaySchedule schedule = days.getIfPresent(new DayKey(professionalEmail, date));
+            missing |= schedule == null;
+            result.put(date, schedule != null ? schedule.occupancy() : null);
+        }
+        if (missing) {
+            load(professionalEmail, from, to, result);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConsultChanged(ConsultChangedEvent event) {
+        Consult consult = event.consult();
+        if (consult.getProfessional() == null || consult.getProfessional().getEmail() == null) {
+            return;
+        }
+        String email = consult.getProfessional().getEmail();
+        Long id = consult.getId().getValue();
+        // Before touching the days, so a load that missed this change cannot install its rows afterwards
+        changes.incrementAndGet(stripe(email));
+
+        // The event carries only the new state, so the previous slot is looked up by id
+        if (event.type() != ConsultChangeType.CREATED) {
+            DayKey previous = dayOfConsult.remove(id);
+            if (previous != null) {
+                days.asMap().computeIfPresent(previous, (key, schedule) -> without(schedule, id));
+            }
+        }
+        if (event.type() != ConsultChangeType.DELETED && consult.getStatus() != ConsultStatus.CANCELLED) {
+            days.asMap().computeIfPresent(new DayKey(email, consult.getDate()), (key, schedule) -> {
+                dayOfConsult.put(id, key);
+                return with(schedule, id, consult.getTime());
+            });
+        }
+    }
+
+    private void load(String professionalEmail, LocalDate from, LocalDate to, Map<LocalDate, DayOccupancy> result) {
+        for (int attempt = 1; ; attempt++) {
+            long seen = changes.get(stripe(professionalEmail));
+            Map<LocalDate, DaySchedule> loaded = query(professionalEmail, from, to, result);
+            boolean current = true;
+            for (Map.Entry<LocalDate, DaySchedule> day : loaded.entrySet()) {
+                // Checked inside the install: a change either counted before and is seen here, or
+                // applies after it to the cached day. A day another load installed first is kept.
+                DaySchedule schedule = days.asMap().computeIfAbsent(new DayKey(professionalEmail, day.getKey()), key -> {
+                    if (changes.get(stripe(professionalEmail)) != seen) {
+                        return null;
+                    }
+                    day.getValue().starts().keySet().forEach(id -> dayOfConsult.put(id, key));
+                    return day.getValue();
+                });
+                current &= schedule != null;
+                result.put(day.getKey(), (schedule != null ? schedule : day.getValue()).occupancy());
+            }
+            if (current || attempt == MAX_LOAD_ATTEMPTS) {
+                return;
+            }
+            // The rows may predate a change of this professional committed during the query
+            log.debug("Reloading the occupancy of {} after a concurrent change", professionalEmail);
+            result.replaceAll((date, occupancy) -> loaded.containsKey(date) ? null : occupancy);
+        }
+    }
+
+    private Map<LocalDate, DaySchedule> query(String professionalEmail, LocalDate from, LocalDate to,
+                                              Map<LocalDate, DayOccupancy> result) {
+        // From the primary even inside a read-only transaction: a day loaded from a lagging replica
+        // misses the changes whose events already ran, and would stay cached until it expires
+        List<Tuple> rows = ReplicaRoutingDataSource.onPrimary(() -> entityManager.createQuery(SCHEDULE_QUERY, Tuple.class)
+                .setParameter("email", professionalEmail)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList());
+        log.debug("Loaded {} consults of {} between {} and {} into the occupancy index", rows.size(), professionalEmail, from, to);
+
+        Map<LocalDate, Map<Long, LocalTime>> starts = new HashMap<>();
+        for (Tuple row : rows) {
+            starts.computeIfAbsent(row.get("localDate", LocalDate.class), date -> new HashMap<>())
+                    .put(row.get("id", Long.class), row.get("localTime", LocalTime.class));
+        }
+        Map<LocalDate, DaySchedule> loaded = new LinkedHashMap<>();
+        result.forEach((date, occupancy) -> {
+            if (occupancy == null) {
+                loaded.put(date, schedule(starts.getOrDefault(date, Map.of())));
+            }
+        });
+        return loaded;
+    }
+
+    private void forget(DayKey key, DaySchedule schedule) {
+        if (key != null && schedule != null) {
+            schedule.starts().keySet().forEach(id -> dayOfConsult.remove(id, key));
+        }
+    }
+
+    private DaySchedule with(DaySchedule schedule, Long id, LocalTime start) {
+        Map<Long, LocalTime> starts = new HashMap<>(schedule.starts());
+        starts.put(id, start);
+        return schedule(starts);
+    }
+
+    private DaySchedule without(DaySchedule schedule, Long id) {
+        Map<Long, LocalTime> starts = new HashMap<>(schedule.starts());
+        starts.remove(id);
+        return schedule(starts);
+    }
+
+    private static int stripe(String professionalEmail) {
+        return professionalEmail.hashCode() & (CHANGE_STRIPES - 1);
+    }
+
+    private DaySchedule schedule(Map<Long, LocalTime> starts) {
+        return new DaySchedule(Map.copyOf(starts), DayOccupancy.of(dayStart, dayEnd, starts.values(), consultMinutes));
+    }
+
+    private record DayKey(String professionalEmail, LocalDate date) {}
+
+    private record DaySchedule(Map<Long, LocalTime> starts, DayOccupancy occupancy) {}
+}
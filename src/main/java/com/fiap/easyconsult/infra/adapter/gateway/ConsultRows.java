@@ -0,0 +1,51 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Consult rows read through {@code JdbcTemplate}, joined to their participants so each row
+ * maps to a complete {@link Consult} without further queries.
+ */
+final class ConsultRows {
+
+    static final RowMapper<Consult> MAPPER = (rs, rowNum) -> Consult.builder()
+            .id(rs.getLong("id"))
+            .reason(rs.getString("reason"))
+            .dateTime(rs.getObject("local_date", LocalDate.class), rs.getObject("local_time", LocalTime.class))
+            .status(ConsultStatus.valueOf(rs.getString("status")))
+            .patient(Patient.builder()
+                    .id(rs.getLong("patient_id"))
+                    .name(rs.getString("patient_name"))
+                    .email(rs.getString("patient_email"))
+                    .build())
+            .professional(Professional.builder()
+                    .id(rs.getLong("professional_id"))
+                    .name(rs.getString("professional_name"))
+                    .email(rs.getString("professional_email"))
+                    .build())
+            .build();
+
+    private ConsultRows() {
+    }
+
+    /**
+     * Select list read by {@link #MAPPER}, for consult rows aliased as {@code alias}.
+     */
+    static String select(String alias) {
+        return "SELECT " + alias + ".id, " + alias + ".local_date, " + alias + ".local_time, "
+                + alias + ".reason, " + alias + ".status,"
+                + " p.id AS patient_id, p.name AS patient_name, p.email AS patient_email,"
+                + " pr.id AS professional_id, pr.name AS professional_name, pr.email AS professional_email";
+    }
+
+    static String join(String alias) {
+        return " JOIN patient p ON p.id = " + alias + ".patient JOIN professional pr ON pr.id = " + alias + ".professional";
+    }
+}
@@ -0,0 +1,43 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import com.fiap.easyconsult.infra.exception.GatewayException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The unique indexes that keep a patient or professional from holding two active consults at the
+ * same date and time (migration V5). Cancelled consults are outside both indexes, so a cancelled
+ * slot can be booked again.
+ */
+final class ConsultSlotConstraints {
+
+    static final String PATIENT_SLOT = "uk_consults_patient_slot";
+    static final String PROFESSIONAL_SLOT = "uk_consults_professional_slot";
+
+    static final String PATIENT_CONFLICT_MESSAGE = "It is not permitted to schedule a new appointment for a date and time that already has an appointment registered.";
+    static final String PROFESSIONAL_CONFLICT_MESSAGE = "The professional already has an appointment registered for this date and time.";
+
+    static final String VALIDATION_ERROR = "CONSULT_VALIDATION_ERROR";
+
+    private ConsultSlotConstraints() {
+    }
+
+    /**
+     * The validation error for a violation of one of the slot indexes, or empty when the violation
+     * is about something else.
+     */
+    static Optional<GatewayException> conflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage() == null ? "" : cause.getMessage().toLowerCase(Locale.ROOT);
+            if (message.contains(PATIENT_SLOT)) {
+                return Optional.of(new GatewayException(PATIENT_CONFLICT_MESSAGE, VALIDATION_ERROR));
+            }
+            if (message.contains(PROFESSIONAL_SLOT)) {
+                return Optional.of(new GatewayException(PROFESSIONAL_CONFLICT_MESSAGE, VALIDATION_ERROR));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+import com.fiap.easyconsult.infra.exception.GatewayException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search over the consult reason.
+ *
+ * On PostgreSQL the reason is indexed as a stored {@code tsvector} column with a GIN index,
+ * created by the schema migrations. Matches are ranked with {@code ts_rank}, rounded so the
+ * rank can be compared exactly when resuming from a cursor.
+ * Other databases fall back to a case-insensitive match of every word, all with the same rank.
+ */
+@Component
+public class ConsultTextSearch {
+
+    // Same configuration as the reason_tsv column in db/migration/postgresql
+    static final String TEXT_SEARCH_CONFIG = "portuguese";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean fullTextSupported;
+
+    public ConsultTextSearch(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ids of the consults matching the text and filter, best rank first and then by id,
+     * strictly after the cursor.
+     */
+    public List<Match> search(String text, ConsultFilter filter, ConsultCursor after, int limit) {
+        List<Object> parameters = new ArrayList<>();
+        List<String> condition = new ArrayList<>();
+        String inner;
+
+        if (isFullTextSupported()) {
+            parameters.add(text);
+            condition.add("c.reason_tsv @@ q.query");
+            inner = "SELECT c.id, c.local_date, c.local_time,"
+                    + " ROUND(CAST(ts_rank(c.reason_tsv, q.query) AS numeric), 6) AS search_rank"
+                    + " FROM consults c, websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', ?) AS q(query)";
+        } else {
+            Arrays.stream(text.toLowerCase(Locale.ROOT).split("\\s+"))
+                    .filter(word -> !word.isBlank())
+                    .distinct()
+                    .forEach(word -> {
+                        condition.add("LOCATE(?, LOWER(c.reason)) > 0");
+                        parameters.add(word);
+                    });
+            inner = "SELECT c.id, c.local_date, c.local_time, CAST(0 AS DECIMAL(10, 6)) AS search_rank FROM consults c";
+        }
+        if (filter != null) {
+            ConsultFilterSql.addConditions(filter, true, condition, parameters);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT m.id, m.local_date, m.local_time, m.search_rank FROM (")
+                .append(inner).append(" WHERE ").append(String.join(" AND ", condition)).append(") m");
+        if (after != null) {
+            sql.append(" WHERE (m.search_rank < ? OR (m.search_rank = ? AND m.id > ?))");
+            parameters.add(after.getRank());
+            parameters.add(after.getRank());
+            parameters.add(after.getId());
+        }
+        sql.append(" ORDER BY m.search_rank DESC, m.id LIMIT ?");
+        parameters.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Match(
+                rs.getLong("id"),
+                rs.getObject("local_date", LocalDate.class),
+                rs.getObject("local_time", LocalTime.class),
+                rs.getBigDecimal("search_rank")), parameters.toArray());
+    }
+
+    private boolean isFullTextSupported() {
+        if (fullTextSupported == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                fullTextSupported = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException ex) {
+                throw new GatewayException("Failed to read database metadata.", "DATABASE_ERROR");
+            }
+        }
+        return fullTextSupported;
+    }
+
+    public record Match(Long id, LocalDate date, LocalTime time, BigDecimal rank) {
+
+        public ConsultCursor toCursor() {
+            return ConsultCursor.ranked(date, time, id, rank.stripTrailingZeros());
+        }
+    }
+}
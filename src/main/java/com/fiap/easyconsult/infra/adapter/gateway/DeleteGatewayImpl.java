@@ -3,16 +3,16 @@ package com.fiap.easyconsult.infra.adapter.gateway;
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.core.outputport.DeleteGateway;
 import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
 import com.fiap.easyconsult.infra.exception.GatewayException;
 import com.fiap.easyconsult.infra.persistence.repository.ConsultRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Slf4j
 @Service
 public class DeleteGatewayImpl implements DeleteGateway {
@@ -20,13 +20,19 @@ public class DeleteGatewayImpl implements DeleteGateway {
     private final ConsultRepository repository;
     private final ConsultMapper mapper;
     private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConsultDataVersion dataVersion;
 
     public DeleteGatewayImpl(ConsultRepository repository, 
                             ConsultMapper mapper,
-                            CacheManager cacheManager) {
+                            CacheManager cacheManager,
+                            ApplicationEventPublisher eventPublisher,
+                            ConsultDataVersion dataVersion) {
         this.repository = repository;
         this.mapper = mapper;
         this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.dataVersion = dataVersion;
     }
 
     @Override
@@ -44,8 +50,10 @@ public class DeleteGatewayImpl implements DeleteGateway {
             repository.deleteById(consultId);
             
             log.info("Successfully deleted consult with ID: {}", consultId);
+            eventPublisher.publishEvent(new ConsultChangedEvent(ConsultChangeType.DELETED, consultToDelete));
             
             removeFromCache(consultToDelete);
+            dataVersion.bump();
 
         } catch (DataAccessException ex) {
             log.error("Database error while deleting consult", ex);
@@ -60,30 +68,5 @@ public class DeleteGatewayImpl implements DeleteGateway {
             cache.evict(deletedConsult.getId().getValue());
             log.info("Removed consult from individual cache");
         }
-
-        // Remove from all consults cache
-        var allConsultsCache = cacheManager.getCache("allConsults");
-        if (allConsultsCache != null) {
-            Object raw = allConsultsCache.get("all-consults", Object.class);
-            
-            if (raw instanceof List<?> rawList) {
-                List<Consult> currentList = rawList.stream()
-                        .filter(Consult.class::isInstance)
-                        .map(Consult.class::cast)
-                        .toList();
-                
-                List<Consult> updatedList = new ArrayList<>(currentList);
-                updatedList.removeIf(c -> c.getId().equals(deletedConsult.getId()));
-                allConsultsCache.put("all-consults", updatedList);
-                log.info("Removed consult from allConsults cache");
-            }
-        }
-
-        // Clear filters cache since the consult was deleted
-        var filterCache = cacheManager.getCache("consultsByFilter");
-        if (filterCache != null) {
-            filterCache.clear();
-            log.info("Cleared consultsByFilter cache due to consult deletion");
-        }
     }
 }
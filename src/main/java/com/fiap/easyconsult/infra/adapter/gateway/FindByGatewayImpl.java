@@ -2,87 +2,378 @@ package com.fiap.easyconsult.infra.adapter.gateway;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.ConsultPage;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultOrder;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultSortField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatsGroup;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.domain.valueobject.DayOccupancy;
 import com.fiap.easyconsult.core.outputport.FindByGateway;
 import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
 import com.fiap.easyconsult.infra.persistence.entity.ConsultEntity;
 import com.fiap.easyconsult.infra.persistence.repository.ConsultRepository;
+import com.fiap.easyconsult.infra.persistence.repository.PatientRepository;
+import com.fiap.easyconsult.infra.persistence.repository.ProfessionalRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+// Read-only transactions are served by the replicas when app.datasource.replicas is enabled
+@Transactional(readOnly = true)
 public class FindByGatewayImpl implements FindByGateway {
 
+    // Only the keyset columns are always selected; the rest follows the requested fields.
+    // Participants are selected by foreign key only and their details are batch-loaded when requested
+    private static final String PAGE_SELECT = "SELECT c.id AS id, c.localDate AS localDate, c.localTime AS localTime";
+    private static final String PAGE_FROM = " FROM ConsultEntity c WHERE 1=1";
+    private static final Map<ConsultField, String> PAGE_COLUMNS = Map.of(
+            ConsultField.REASON, "c.reason AS reason",
+            ConsultField.STATUS, "c.status AS status",
+            ConsultField.PATIENT, "c.patient.id AS patientId",
+            ConsultField.PROFESSIONAL, "c.professional.id AS professionalId");
+    private static final Map<ConsultSortField, String> ORDER_COLUMNS = Map.of(
+            ConsultSortField.DATE, "c.localDate",
+            ConsultSortField.TIME, "c.localTime",
+            ConsultSortField.STATUS, "c.status",
+            ConsultSortField.PROFESSIONAL, "c.professional.name");
+    // Keyset values not already in PAGE_SELECT
+    private static final Map<ConsultSortField, String> ORDER_SELECT = Map.of(
+            ConsultSortField.STATUS, "c.status AS orderStatus",
+            ConsultSortField.PROFESSIONAL, "c.professional.name AS orderProfessional");
+    private static final Map<ConsultStatsGroup, List<String>> STATS_COLUMNS = Map.of(
+            ConsultStatsGroup.STATUS, List.of("c.status"),
+            ConsultStatsGroup.DATE, List.of("c.localDate"),
+            ConsultStatsGroup.PROFESSIONAL, List.of("c.professional.email", "c.professional.name"));
+    private static final Map<String, String> STATS_ALIASES = Map.of(
+            "c.status", "status",
+            "c.localDate", "localDate",
+            "c.professional.email", "professionalEmail",
+            "c.professional.name", "professionalName");
+
     @PersistenceContext
     private EntityManager entityManager;
 
     private final ConsultRepository repository;
+    private final PatientRepository patientRepository;
+    private final ProfessionalRepository professionalRepository;
     private final ConsultMapper mapper;
+    private final ConsultOccupancyIndex occupancyIndex;
+    private final ConsultTextSearch textSearch;
+    private final JdbcTemplate streamTemplate;
 
-    public FindByGatewayImpl(ConsultRepository repository, ConsultMapper mapper) {
+    public FindByGatewayImpl(ConsultRepository repository,
+                             PatientRepository patientRepository,
+                             ProfessionalRepository professionalRepository,
+                             ConsultMapper mapper,
+                             ConsultOccupancyIndex occupancyIndex,
+                             ConsultTextSearch textSearch,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.consults.stream.fetch-size:500}") int streamFetchSize) {
         this.repository = repository;
+        this.patientRepository = patientRepository;
+        this.professionalRepository = professionalRepository;
         this.mapper = mapper;
+        this.occupancyIndex = occupancyIndex;
+        this.textSearch = textSearch;
+        // A dedicated template, so the fetch size only applies to the streaming read
+        this.streamTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamTemplate.setFetchSize(streamFetchSize);
+    }
+
+    /**
+     * Reads the consults through a forward-only cursor, {@code fetch-size} rows at a time, handing each
+     * one to the consumer as it is read. Nothing is accumulated, so memory does not grow with the table.
+     * PostgreSQL only honours the fetch size inside a transaction, which is why the read is transactional.
+     */
+    @Override
+    public void streamAll(ConsultFilter filter, Consumer<Consult> consumer) {
+        log.info("Streaming consults with filters: {}", filter);
+
+        List<String> condition = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (filter != null) {
+            ConsultFilterSql.addConditions(filter, true, condition, parameters);
+        }
+        String sql = ConsultRows.select("c") + " FROM consults c" + ConsultRows.join("c")
+                + (condition.isEmpty() ? "" : " WHERE " + String.join(" AND ", condition))
+                + " ORDER BY c.local_date, c.local_time, c.id";
+
+        int[] count = {0};
+        streamTemplate.query(sql, (RowCallbackHandler) rs -> {
+            consumer.accept(ConsultRows.MAPPER.mapRow(rs, count[0]));
+            count[0]++;
+        }, parameters.toArray());
+        log.info("Streamed {} consults", count[0]);
     }
 
     @Override
-    @Cacheable(value = "consultsByFilter", key = "#filter.hashCode()")
-    public List<Consult> findWithFilters(ConsultFilter filter) {
-        log.info("Searching consults with filters: {}", filter);
+    public ConsultPage findPage(ConsultFilter filter, ConsultCursor after, int first, Set<ConsultField> fields) {
+        log.info("Searching page of {} consults after cursor {} with filters: {} and fields: {}", first, after, filter, fields);
 
         try {
-            String consultBase = "SELECT c FROM ConsultEntity c WHERE 1=1";
             Map<String, Object> parameter = new HashMap<>();
             List<String> condition = new ArrayList<>();
+            List<ConsultOrder> orders = ConsultOrder.total(filter != null ? filter.getOrderBy() : null);
 
-            addCondition(filter.getPatientEmail(), "c.patient.email", "patientEmail", condition, parameter);
-            addCondition(filter.getProfessionalEmail(), "c.professional.email", "profEmail", condition, parameter);
-            addCondition(filter.getStatus(), "c.status", "status", condition, parameter, true);
-            addCondition(filter.getDate(), "c.localDate", "localDate", condition, parameter);
+            if (filter != null) {
+                addFilterConditions(filter, condition, parameter);
+            }
+            addKeysetCondition(after, orders, condition, parameter);
 
-            String jpql = condition.isEmpty() ? consultBase : consultBase + " AND " + String.join(" AND ", condition);
-            TypedQuery<ConsultEntity> query = entityManager.createQuery(jpql, ConsultEntity.class);
+            String base = pageSelect(fields, orders) + PAGE_FROM;
+            String jpql = (condition.isEmpty() ? base : base + " AND " + String.join(" AND ", condition)) + orderClause(orders);
+            TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
             parameter.forEach(query::setParameter);
+            // One extra row tells whether another page exists without a COUNT query.
+            // The limit is part of the query, so an index matching the ordering allows a top-N scan
+            query.setMaxResults(first + 1);
+
+            List<Tuple> rows = query.getResultList();
+            boolean hasNextPage = rows.size() > first;
+            List<Tuple> page = hasNextPage ? rows.subList(0, first) : rows;
 
-            List<Consult> result = query.getResultList().stream()
-                    .map(mapper::toConsult)
+            List<Consult> result = page.stream()
+                    .map(row -> mapper.toConsultProjection(row, fields))
+                    .toList();
+            List<ConsultCursor> cursors = page.stream()
+                    .map(row -> toCursor(row, orders))
                     .toList();
 
-            log.info("Found {} consults with filters", result.size());
-            return result;
+            log.info("Found {} consults in page (hasNextPage={})", result.size(), hasNextPage);
+            return ConsultPage.of(result, cursors, hasNextPage);
 
         } catch (Exception e) {
-            log.error("Error while filtering consults", e);
+            log.error("Error while paginating consults", e);
             throw e;
         }
     }
 
     @Override
-    public List<Consult> findAll() {
-        log.info("Searching all consults with details");
+    public ConsultPage searchByText(String text, ConsultFilter filter, ConsultCursor after, int first, Set<ConsultField> fields) {
+        log.info("Searching page of {} consults matching \"{}\" after cursor {} with filters: {}", first, text, after, filter);
 
         try {
-            var entities = repository.findAllWithDetails();
-            log.info("Found {} consults", entities.size());
+            List<ConsultTextSearch.Match> matches = textSearch.search(text, filter, after, first + 1);
+            boolean hasNextPage = matches.size() > first;
+            List<ConsultTextSearch.Match> page = hasNextPage ? matches.subList(0, first) : matches;
+            if (page.isEmpty()) {
+                return ConsultPage.empty();
+            }
+
+            // The ranked ids come from the search index; the requested fields are then read by primary key
+            TypedQuery<Tuple> query = entityManager.createQuery(
+                    pageSelect(fields, List.of()) + PAGE_FROM + " AND c.id IN :ids", Tuple.class);
+            query.setParameter("ids", page.stream().map(ConsultTextSearch.Match::id).toList());
+            Map<Long, Consult> byId = query.getResultList().stream()
+                    .map(row -> mapper.toConsultProjection(row, fields))
+                    .collect(Collectors.toMap(consult -> consult.getId().getValue(), Function.identity()));
+
+            // A consult deleted between both queries is left out of the page
+            List<ConsultTextSearch.Match> found = page.stream().filter(match -> byId.containsKey(match.id())).toList();
+            List<Consult> result = found.stream().map(match -> byId.get(match.id())).toList();
+            List<ConsultCursor> cursors = found.stream().map(ConsultTextSearch.Match::toCursor).toList();
+
+            log.info("Found {} consults matching text (hasNextPage={})", result.size(), hasNextPage);
+            return ConsultPage.of(result, cursors, hasNextPage);
+
+        } catch (Exception e) {
+            log.error("Error while searching consults", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<Long, Patient> findPatientsByIds(Set<Long> ids) {
+        log.debug("Batch loading {} patients", ids.size());
+        return patientRepository.findAllById(ids).stream()
+                .map(mapper::toPatient)
+                .collect(Collectors.toMap(Patient::getId, Function.identity()));
+    }
+
+    @Override
+    public Map<Long, Professional> findProfessionalsByIds(Set<Long> ids) {
+        log.debug("Batch loading {} professionals", ids.size());
+        return professionalRepository.findAllById(ids).stream()
+                .map(mapper::toProfessional)
+                .collect(Collectors.toMap(Professional::getId, Function.identity()));
+    }
+
+    // Keyed by the data version: a write moves readers to new entries, so an ETag never tags older counts
+    @Override
+    @Cacheable(value = "consultStats",
+            key = "@consultDataVersion.current() + ':' + (#filter != null ? #filter.toString() : 'all') + ':' + #groupBy")
+    public List<ConsultStats> countGroupedBy(ConsultFilter filter, Set<ConsultStatsGroup> groupBy) {
+        log.info("Counting consults grouped by {} with filters: {}", groupBy, filter);
+
+        try {
+            Map<String, Object> parameter = new HashMap<>();
+            List<String> condition = new ArrayList<>();
+
+            if (filter != null) {
+                addFilterConditions(filter, condition, parameter);
+            }
 
-            return entities.stream()
-                    .map(mapper::toConsult)
+            // Aggregated in a single GROUP BY; only the grouped columns and the count leave the database
+            List<String> columns = groupBy.stream()
+                    .sorted()
+                    .flatMap(group -> STATS_COLUMNS.get(group).stream())
                     .toList();
+            StringBuilder jpql = new StringBuilder("SELECT ");
+            columns.forEach(column -> jpql.append(column).append(" AS ").append(STATS_ALIASES.get(column)).append(", "));
+            jpql.append("COUNT(c) AS total FROM ConsultEntity c WHERE 1=1");
+            if (!condition.isEmpty()) {
+                jpql.append(" AND ").append(String.join(" AND ", condition));
+            }
+            if (!columns.isEmpty()) {
+                jpql.append(" GROUP BY ").append(String.join(", ", columns))
+                        .append(" ORDER BY ").append(String.join(", ", columns));
+            }
+
+            TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+            parameter.forEach(query::setParameter);
+
+            List<ConsultStats> result = query.getResultList().stream()
+                    .map(row -> toConsultStats(row, groupBy))
+                    .toList();
+
+            log.info("Found {} consult groups", result.size());
+            return result;
 
         } catch (Exception e) {
-            log.error("Error while fetching all consults", e);
+            log.error("Error while counting consults", e);
             throw e;
         }
     }
 
+    @Override
+    public Map<LocalDate, DayOccupancy> findOccupancy(String professionalEmail, LocalDate from, LocalDate to) {
+        log.info("Searching occupancy of {} between {} and {}", professionalEmail, from, to);
+        return occupancyIndex.occupancy(professionalEmail, from, to);
+    }
+
+    private ConsultStats toConsultStats(Tuple row, Set<ConsultStatsGroup> groupBy) {
+        boolean byProfessional = groupBy.contains(ConsultStatsGroup.PROFESSIONAL);
+        return new ConsultStats(
+                groupBy.contains(ConsultStatsGroup.STATUS) ? ConsultStatus.valueOf(row.get("status", String.class)) : null,
+                groupBy.contains(ConsultStatsGroup.DATE) ? row.get("localDate", LocalDate.class) : null,
+                byProfessional ? row.get("professionalName", String.class) : null,
+                byProfessional ? row.get("professionalEmail", String.class) : null,
+                row.get("total", Long.class));
+    }
+
+    private String pageSelect(Set<ConsultField> fields, List<ConsultOrder> orders) {
+        StringBuilder select = new StringBuilder(PAGE_SELECT);
+        fields.stream()
+                .sorted()
+                .forEach(field -> select.append(", ").append(PAGE_COLUMNS.get(field)));
+        orders.stream()
+                .map(order -> ORDER_SELECT.get(order.field()))
+                .filter(Objects::nonNull)
+                .forEach(column -> select.append(", ").append(column));
+        return select.toString();
+    }
+
+    private String orderClause(List<ConsultOrder> orders) {
+        StringBuilder clause = new StringBuilder(" ORDER BY ");
+        orders.forEach(order -> clause.append(ORDER_COLUMNS.get(order.field()))
+                .append(order.descending() ? " DESC" : "")
+                .append(", "));
+        return clause.append("c.id").toString();
+    }
+
+    private ConsultCursor toCursor(Tuple row, List<ConsultOrder> orders) {
+        boolean byStatus = orders.stream().anyMatch(order -> order.field() == ConsultSortField.STATUS);
+        boolean byProfessional = orders.stream().anyMatch(order -> order.field() == ConsultSortField.PROFESSIONAL);
+        return ConsultCursor.of(
+                row.get("localDate", LocalDate.class),
+                row.get("localTime", LocalTime.class),
+                row.get("id", Long.class),
+                byStatus ? row.get("orderStatus", String.class) : null,
+                byProfessional ? row.get("orderProfessional", String.class) : null);
+    }
+
+    private void addFilterConditions(ConsultFilter filter, List<String> condition, Map<String, Object> parameter) {
+        addCondition(filter.getPatientEmail(), "c.patient.email", "patientEmail", condition, parameter);
+        addCondition(filter.getProfessionalEmail(), "c.professional.email", "profEmail", condition, parameter);
+        addCondition(filter.getStatus(), "c.status", "status", condition, parameter, true);
+        addCondition(filter.getLocalTime(), "c.localTime", "localTime", condition, parameter);
+        addCondition(filter.getDate(), "c.localDate", "localDate", condition, parameter);
+        addRangeCondition(filter.getDateFrom(), "c.localDate >= :", "dateFrom", condition, parameter);
+        addRangeCondition(filter.getDateTo(), "c.localDate <= :", "dateTo", condition, parameter);
+        addRangeCondition(filter.getTimeFrom(), "c.localTime >= :", "timeFrom", condition, parameter);
+        addRangeCondition(filter.getTimeTo(), "c.localTime <= :", "timeTo", condition, parameter);
+        if (!filter.getStatusIn().isEmpty()) {
+            condition.add("c.status IN :statusIn");
+            parameter.put("statusIn", filter.getStatusIn().stream().map(Enum::name).toList());
+        }
+    }
+
+    private void addRangeCondition(Object bound, String comparison, String nameParameter,
+                                   List<String> condition, Map<String, Object> parameter) {
+        if (bound != null) {
+            condition.add(comparison + nameParameter);
+            parameter.put(nameParameter, bound);
+        }
+    }
+
+    /**
+     * Rows strictly after the cursor in the given ordering, expanded as
+     * {@code k1 > v1 OR (k1 = v1 AND k2 > v2) OR ... OR (all equal AND c.id > id)},
+     * with {@code <} for descending columns.
+     */
+    private void addKeysetCondition(ConsultCursor after, List<ConsultOrder> orders,
+                                    List<String> condition, Map<String, Object> parameter) {
+        if (after == null) {
+            return;
+        }
+        List<String> alternatives = new ArrayList<>();
+        List<String> equalities = new ArrayList<>();
+        for (ConsultOrder order : orders) {
+            String column = ORDER_COLUMNS.get(order.field());
+            String name = "after" + order.field().name();
+            parameter.put(name, after.valueOf(order.field()));
+            alternatives.add(keysetAlternative(equalities, column + (order.descending() ? " < :" : " > :") + name));
+            equalities.add(column + " = :" + name);
+        }
+        alternatives.add(keysetAlternative(equalities, "c.id > :afterId"));
+        parameter.put("afterId", after.getId());
+        condition.add("(" + String.join(" OR ", alternatives) + ")");
+    }
+
+    private String keysetAlternative(List<String> equalities, String comparison) {
+        if (equalities.isEmpty()) {
+            return comparison;
+        }
+        return "(" + String.join(" AND ", equalities) + " AND " + comparison + ")";
+    }
+
     private void addCondition(Object valor, String campo, String nameParameter,
                               List<String> condition, Map<String, Object> parameter) {
         addCondition(valor, campo, nameParameter, condition, parameter, false);
@@ -0,0 +1,148 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import com.fiap.easyconsult.infra.exception.GatewayException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.DatabaseMetaData;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Resolves patients and professionals to their row ids, registering them on first use.
+ *
+ * Participants are unique by email: a booking for a known email reuses its row, updating the name
+ * when it changed. Known emails are answered from a bounded cache; the others are upserted in one
+ * statement per table ({@code INSERT ... ON CONFLICT} on PostgreSQL, {@code MERGE} elsewhere).
+ * Ids read inside a transaction are only cached after it commits, so a rollback cannot leave an
+ * id in the cache for a row that does not exist.
+ */
+@Slf4j
+@Component
+public class ParticipantRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Participant> patients;
+    private final Cache<String, Participant> professionals;
+    private volatile Boolean upsertSupported;
+
+    public ParticipantRegistry(JdbcTemplate jdbcTemplate,
+                               @Value("${app.participants.cache-size:10000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.patients = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        this.professionals = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Ids of the patients with the given emails, keyed by email.
+     *
+     * @param namesByEmail name to register or update for each email
+     */
+    public Map<String, Long> patientIds(Map<String, String> namesByEmail) {
+        return resolve("patient", patients, namesByEmail);
+    }
+
+    /**
+     * Ids of the professionals with the given emails, keyed by email.
+     *
+     * @param namesByEmail name to register or update for each email
+     */
+    public Map<String, Long> professionalIds(Map<String, String> namesByEmail) {
+        return resolve("professional", professionals, namesByEmail);
+    }
+
+    private Map<String, Long> resolve(String table, Cache<String, Participant> cache, Map<String, String> namesByEmail) {
+        Map<String, Long> ids = new HashMap<>();
+        // Sorted so concurrent upserts lock the rows in the same order
+        SortedMap<String, String> missing = new TreeMap<>();
+        namesByEmail.forEach((email, name) -> {
+            Participant cached = cache.getIfPresent(email);
+            if (cached != null && Objects.equals(cached.name(), name)) {
+                ids.put(email, cached.id());
+            } else {
+                missing.put(email, name);
+            }
+        });
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        Map<String, Long> upserted = isUpsertSupported() ? upsert(table, missing) : merge(table, missing);
+        log.debug("Registered {} {} rows ({} from cache)", upserted.size(), table, ids.size());
+        ids.putAll(upserted);
+        cacheAfterCommit(cache, upserted, missing);
+        return ids;
+    }
+
+    private Map<String, Long> upsert(String table, SortedMap<String, String> namesByEmail) {
+        String values = String.join(", ", Collections.nCopies(namesByEmail.size(), "(?, ?)"));
+        Object[] parameters = new Object[namesByEmail.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> entry : namesByEmail.entrySet()) {
+            parameters[i++] = entry.getValue();
+            parameters[i++] = entry.getKey();
+        }
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("INSERT INTO " + table + " (name, email) VALUES " + values
+                        + " ON CONFLICT (email) DO UPDATE SET name = EXCLUDED.name RETURNING id, email",
+                rs -> {
+                    ids.put(rs.getString("email"), rs.getLong("id"));
+                },
+                parameters);
+        return ids;
+    }
+
+    private Map<String, Long> merge(String table, SortedMap<String, String> namesByEmail) {
+        Map<String, Long> ids = new HashMap<>();
+        namesByEmail.forEach((email, name) -> {
+            jdbcTemplate.update("MERGE INTO " + table + " p"
+                    + " USING (SELECT CAST(? AS VARCHAR(255)) AS name, CAST(? AS VARCHAR(255)) AS email) v ON p.email = v.email"
+                    + " WHEN MATCHED THEN UPDATE SET name = v.name"
+                    + " WHEN NOT MATCHED THEN INSERT (name, email) VALUES (v.name, v.email)", name, email);
+            ids.put(email, jdbcTemplate.queryForObject("SELECT id FROM " + table + " WHERE email = ?", Long.class, email));
+        });
+        return ids;
+    }
+
+    private void cacheAfterCommit(Cache<String, Participant> cache, Map<String, Long> ids, Map<String, String> names) {
+        Runnable put = () -> ids.forEach((email, id) -> cache.put(email, new Participant(id, names.get(email))));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put.run();
+                }
+            });
+            return;
+        }
+        put.run();
+    }
+
+    private boolean isUpsertSupported() {
+        if (upsertSupported == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                upsertSupported = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException ex) {
+                throw new GatewayException("Failed to read database metadata.", "DATABASE_ERROR");
+            }
+        }
+        return upsertSupported;
+    }
+
+    private record Participant(long id, String name) {
+    }
+}
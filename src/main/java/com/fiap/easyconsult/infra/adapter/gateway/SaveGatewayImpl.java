@@ -1,39 +1,57 @@
 package com.fiap.easyconsult.infra.adapter.gateway;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
 import com.fiap.easyconsult.core.outputport.SaveGateway;
 import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
 import com.fiap.easyconsult.infra.exception.GatewayException;
 import com.fiap.easyconsult.infra.kafka.service.KafkaMessageService;
 import com.fiap.easyconsult.infra.persistence.entity.ConsultEntity;
 import com.fiap.easyconsult.infra.persistence.repository.ConsultRepository;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
 public class SaveGatewayImpl implements SaveGateway {
 
-    private static final String CACHE_ALL_CONSULTS_KEY = "all-consults";
     private final ConsultRepository repository;
     private final ConsultMapper mapper;
-    private final CacheManager cacheManager;
     private final KafkaMessageService kafkaMessageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConsultDataVersion dataVersion;
+    private final ParticipantRegistry participantRegistry;
 
     public SaveGatewayImpl(ConsultRepository repository,
                            ConsultMapper mapper,
-                           CacheManager cacheManager,
-                           KafkaMessageService kafkaMessageService) {
+                           KafkaMessageService kafkaMessageService,
+                           ApplicationEventPublisher eventPublisher,
+                           ConsultDataVersion dataVersion,
+                           ParticipantRegistry participantRegistry) {
         this.repository = repository;
         this.mapper = mapper;
-        this.cacheManager = cacheManager;
         this.kafkaMessageService = kafkaMessageService;
+        this.eventPublisher = eventPublisher;
+        this.dataVersion = dataVersion;
+        this.participantRegistry = participantRegistry;
     }
 
     @Override
@@ -43,74 +61,147 @@ public class SaveGatewayImpl implements SaveGateway {
 
         checkPatientAndProfessional(consult);
 
-        List<ConsultEntity> existingConsults = repository.findAllByPatientEmail(consult.getPatient().getEmail());
-
-        checkForDateConflicts(consult, existingConsults);
-
+        // Slot conflicts are rejected by the unique indexes on insert, so the patient's history is never read
         try {
-            var entity = mapper.toConsultEntity(consult);
-            var saved = repository.save(entity);
+            Long patientId = participantRegistry.patientIds(
+                    Map.of(consult.getPatient().getEmail(), consult.getPatient().getName())).get(consult.getPatient().getEmail());
+            Long professionalId = participantRegistry.professionalIds(
+                    Map.of(consult.getProfessional().getEmail(), consult.getProfessional().getName())).get(consult.getProfessional().getEmail());
+            var entity = mapper.toConsultEntity(consult, patientId, professionalId);
+            var saved = repository.saveAndFlush(entity);
             var result = mapper.toConsult(saved);
 
             log.info("Saved consult: {}", saved);
             kafkaMessageService.publishConsultEvent(result);
+            eventPublisher.publishEvent(new ConsultChangedEvent(ConsultChangeType.CREATED, result));
 
-            updateAllConsultsCache(result);
+            dataVersion.bump();
 
             return result;
 
+        } catch (DataIntegrityViolationException ex) {
+            throw ConsultSlotConstraints.conflict(ex).orElseGet(() -> {
+                log.error("Database error while saving consult", ex);
+                return new GatewayException("Failed to persist consult.", "DATABASE_ERROR");
+            });
         } catch (DataAccessException ex) {
             log.error("Database error while saving consult", ex);
             throw new GatewayException("Failed to persist consult.", "DATABASE_ERROR");
         }
     }
 
+    @Override
+    @Transactional
+    public List<ConsultCreationResult> saveAll(List<Consult> consults) {
+        log.info("Saving batch of {} consults", consults.size());
+
+        ConsultCreationResult[] results = new ConsultCreationResult[consults.size()];
+        List<Integer> accepted = checkForBatchConflicts(consults, results);
+
+        if (!accepted.isEmpty()) {
+            try {
+                List<Consult> saved = insertBatch(accepted.stream().map(consults::get).toList());
+                for (int i = 0; i < saved.size(); i++) {
+                    results[accepted.get(i)] = ConsultCreationResult.created(accepted.get(i), saved.get(i));
+                }
+
+                log.info("Saved {} of {} consults in batch", saved.size(), consults.size());
+                saved.forEach(consult -> eventPublisher.publishEvent(new ConsultChangedEvent(ConsultChangeType.CREATED, consult)));
+
+                // Consumers must never see a batch that rolls back
+                afterCommit(() -> kafkaMessageService.publishConsultEvents(saved));
+                dataVersion.bump();
+
+            } catch (DataIntegrityViolationException ex) {
+                // A slot taken by a concurrent booking after the pre-check fails the whole batch
+                throw ConsultSlotConstraints.conflict(ex).orElseGet(() -> {
+                    log.error("Database error while saving consult batch", ex);
+                    return new GatewayException("Failed to persist consults.", "DATABASE_ERROR");
+                });
+            } catch (DataAccessException ex) {
+                log.error("Database error while saving consult batch", ex);
+                throw new GatewayException("Failed to persist consults.", "DATABASE_ERROR");
+            }
+        }
+
+        return List.of(results);
+    }
+
     private void checkPatientAndProfessional(Consult consult) {
         if (consult.getPatient() == null || consult.getProfessional() == null) {
             throw new GatewayException("Patient or Professional information is missing.", "CONSULT_VALIDATION_ERROR");
         }
     }
 
-    private void checkForDateConflicts(Consult consult, List<ConsultEntity> existingConsults) {
-        var dateConflicts = existingConsults.stream()
-                .anyMatch(c -> c.getLocalDate().isEqual(consult.getDate()) && c.getLocalTime().equals(consult.getTime()));
-
-        if (dateConflicts) {
-            throw new GatewayException("It is not permitted to schedule a new appointment for a date and time that already has an appointment registered.", "CONSULT_VALIDATION_ERROR");
+    /**
+     * Rejects items that clash with an active consult of the same patient or professional, stored or
+     * earlier in the same batch, using one query over all participants and dates in the batch. This
+     * gives each item its own result; the unique indexes still guard against concurrent bookings.
+     */
+    private List<Integer> checkForBatchConflicts(List<Consult> consults, ConsultCreationResult[] results) {
+        Set<String> patientEmails = consults.stream().map(c -> c.getPatient().getEmail()).collect(Collectors.toSet());
+        Set<String> professionalEmails = consults.stream().map(c -> c.getProfessional().getEmail()).collect(Collectors.toSet());
+        Set<LocalDate> dates = consults.stream().map(Consult::getDate).collect(Collectors.toSet());
+
+        Set<String> patientSlots = new HashSet<>();
+        Set<String> professionalSlots = new HashSet<>();
+        repository.findActiveByParticipantsAndDates(patientEmails, professionalEmails, dates).forEach(c -> {
+            patientSlots.add(slotKey(c.getPatient().getEmail(), c.getLocalDate(), c.getLocalTime()));
+            professionalSlots.add(slotKey(c.getProfessional().getEmail(), c.getLocalDate(), c.getLocalTime()));
+        });
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < consults.size(); i++) {
+            Consult consult = consults.get(i);
+            String patientSlot = slotKey(consult.getPatient().getEmail(), consult.getDate(), consult.getTime());
+            String professionalSlot = slotKey(consult.getProfessional().getEmail(), consult.getDate(), consult.getTime());
+            if (patientSlots.contains(patientSlot)) {
+                results[i] = ConsultCreationResult.failed(i, ConsultSlotConstraints.VALIDATION_ERROR,
+                        ConsultSlotConstraints.PATIENT_CONFLICT_MESSAGE);
+            } else if (professionalSlots.contains(professionalSlot)) {
+                results[i] = ConsultCreationResult.failed(i, ConsultSlotConstraints.VALIDATION_ERROR,
+                        ConsultSlotConstraints.PROFESSIONAL_CONFLICT_MESSAGE);
+            } else {
+                patientSlots.add(patientSlot);
+                professionalSlots.add(professionalSlot);
+                accepted.add(i);
+            }
         }
+        return accepted;
     }
 
-    private void updateAllConsultsCache(Consult result) {
-        var cache = cacheManager.getCache("allConsults");
-        if (cache == null) {
-            log.warn("Cache 'allConsults' not found");
-            return;
-        }
-
-        Object raw = cache.get(CACHE_ALL_CONSULTS_KEY, Object.class);
-        List<Consult> currentList = null;
+    private String slotKey(String email, LocalDate date, LocalTime time) {
+        return email + "|" + date + "|" + time;
+    }
 
-        if (raw instanceof List<?> rawList) {
-            currentList = rawList.stream()
-                    .filter(Consult.class::isInstance)
-                    .map(Consult.class::cast)
-                    .toList();
-        }
+    private List<Consult> insertBatch(List<Consult> consults) {
+        // One row per email; when an email repeats in the batch its last name is kept
+        Map<String, Long> patientIds = participantRegistry.patientIds(consults.stream()
+                .collect(Collectors.toMap(c -> c.getPatient().getEmail(), c -> c.getPatient().getName(), (first, last) -> last)));
+        Map<String, Long> professionalIds = participantRegistry.professionalIds(consults.stream()
+                .collect(Collectors.toMap(c -> c.getProfessional().getEmail(), c -> c.getProfessional().getName(), (first, last) -> last)));
+
+        // Ids come from the pooled sequence, so the inserts go out as JDBC batches of hibernate.jdbc.batch_size
+        List<ConsultEntity> entities = consults.stream()
+                .map(c -> mapper.toConsultEntity(c,
+                        patientIds.get(c.getPatient().getEmail()),
+                        professionalIds.get(c.getProfessional().getEmail())))
+                .toList();
+        List<ConsultEntity> saved = repository.saveAll(entities);
+        repository.flush();
+        return saved.stream().map(mapper::toConsult).toList();
+    }
 
-        if (currentList != null) {
-            boolean alreadyExists = currentList.stream()
-                    .anyMatch(c -> c.getId().equals(result.getId()));
-            if (!alreadyExists) {
-                List<Consult> updatedList = new ArrayList<>(currentList);
-                updatedList.add(result);
-                cache.put(CACHE_ALL_CONSULTS_KEY, updatedList);
-                log.info("Consult added to cache");
-            } else {
-                log.info("Consult already exists in cache");
-            }
-        } else {
-            cache.put(CACHE_ALL_CONSULTS_KEY, List.of(result));
-            log.info("Cache initialized with first consult");
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
         }
+        action.run();
     }
-}
\ No newline at end of file
+}
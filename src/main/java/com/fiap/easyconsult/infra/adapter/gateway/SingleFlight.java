@@ -0,0 +1,61 @@
+package com.fiap.easyconsult.infra.adapter.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one call per key at a time. Callers arriving while a call for the same key is in
+ * flight wait for it and receive its result, or its exception, instead of running their own.
+ *
+ * Nothing is kept once the call completes, so this only merges overlapping calls; keeping results
+ * around is the job of the caches behind it. Keys must implement {@code equals}/{@code hashCode}.
+ */
+@Slf4j
+public class SingleFlight {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            log.debug("Joining in-flight call for {}", key);
+            return (T) await(running);
+        }
+
+        try {
+            T result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // Waiters see the same exception as the caller that ran the call
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.fiap.easyconsult.infra.adapter.gateway;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
 import com.fiap.easyconsult.core.domain.model.UpdateConsult;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
 import com.fiap.easyconsult.core.outputport.UpdateGateway;
 import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
 import com.fiap.easyconsult.infra.exception.GatewayException;
 import com.fiap.easyconsult.infra.kafka.service.KafkaMessageService;
 import com.fiap.easyconsult.infra.persistence.entity.ConsultEntity;
@@ -11,31 +15,53 @@ import com.fiap.easyconsult.infra.persistence.repository.ConsultRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class UpdateGatewayImpl implements UpdateGateway {
 
-    private static final String CACHE_ALL_CONSULTS_KEY = "all-consults";
+    // The updated rows are joined back to their participants so events carry the same data as a single update
+    private static final String UPDATED_SELECT = ConsultRows.select("u");
+    private static final String UPDATED_JOIN = ConsultRows.join("u");
 
     private final ConsultRepository repository;
     private final ConsultMapper mapper;
     private final CacheManager cacheManager;
     private final KafkaMessageService kafkaMessageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConsultDataVersion dataVersion;
+    private volatile Boolean updateReturningSupported;
 
     public UpdateGatewayImpl(ConsultRepository repository, 
                             ConsultMapper mapper,
                             CacheManager cacheManager,
-                            KafkaMessageService kafkaMessageService) {
+                            KafkaMessageService kafkaMessageService,
+                            ApplicationEventPublisher eventPublisher,
+                            JdbcTemplate jdbcTemplate,
+                            ConsultDataVersion dataVersion) {
         this.repository = repository;
         this.mapper = mapper;
         this.cacheManager = cacheManager;
         this.kafkaMessageService = kafkaMessageService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataVersion = dataVersion;
     }
 
     @Override
@@ -51,72 +77,135 @@ public class UpdateGatewayImpl implements UpdateGateway {
 
             applyUpdateConsultData(updateConsult, existingEntity);
 
-            var savedEntity = repository.save(existingEntity);
+            // Flushed here so a rescheduling into a taken slot fails inside this call
+            var savedEntity = repository.saveAndFlush(existingEntity);
             var result = mapper.toConsult(savedEntity);
             kafkaMessageService.publishConsultEvent(result);
+            eventPublisher.publishEvent(new ConsultChangedEvent(ConsultChangeType.UPDATED, result));
 
             log.info("Successfully updated consult: {}", result);
-            
-            updateAllConsultsCache(result);
-            
+            dataVersion.bump();
+
             return result;
 
+        } catch (DataIntegrityViolationException ex) {
+            throw ConsultSlotConstraints.conflict(ex).orElseGet(() -> {
+                log.error("Database error while updating consult", ex);
+                return new GatewayException("Failed to update consult.", "DATABASE_ERROR");
+            });
         } catch (DataAccessException ex) {
             log.error("Database error while updating consult", ex);
             throw new GatewayException("Failed to update consult.", "DATABASE_ERROR");
         }
     }
 
-    private void applyUpdateConsultData(UpdateConsult updateConsult, ConsultEntity existingEntity) {
-        // Update only non-null fields
-        if (updateConsult.getReason() != null) {
-            existingEntity.setReason(updateConsult.getReason());
+    @Override
+    public List<Consult> updateStatus(ConsultFilter filter, ConsultStatus status) {
+        log.info("Updating status to {} for consults matching: {}", status, filter);
+
+        // An empty filter would match every consult that can make the transition
+        if (filter == null || filter.isEmpty()) {
+            throw new GatewayException("A filter is required to update consults in bulk.", "CONSULT_VALIDATION_ERROR");
         }
-        if (updateConsult.getDate() != null) {
-            existingEntity.setLocalDate(updateConsult.getDate());
+
+        // Transition rules are part of the WHERE clause, so consults that may not move are simply not matched
+        Set<ConsultStatus> sources = ConsultStatus.sourcesOf(status);
+        if (filter.getStatus() != null) {
+            sources.retainAll(Set.of(filter.getStatus()));
         }
-        if (updateConsult.getTime() != null) {
-            existingEntity.setLocalTime(updateConsult.getTime());
+        if (!filter.getStatusIn().isEmpty()) {
+            sources.retainAll(filter.getStatusIn());
         }
-        if (updateConsult.getStatus() != null) {
-            existingEntity.setStatus(updateConsult.getStatus().name());
+        if (sources.isEmpty()) {
+            log.info("No consult in status {} can transition to {}", filter.getStatus(), status);
+            return List.of();
+        }
+
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(status.name());
+        String where = statusUpdateConditions(filter, status, sources, parameters);
+
+        try {
+            List<Consult> updated = jdbcTemplate.query(statusUpdateSql(where), ConsultRows.MAPPER, parameters.toArray());
+            log.info("Updated status of {} consults to {}", updated.size(), status);
+
+            if (!updated.isEmpty()) {
+                kafkaMessageService.publishConsultEvents(updated);
+                updated.forEach(consult -> eventPublisher.publishEvent(new ConsultChangedEvent(ConsultChangeType.UPDATED, consult)));
+                evictFromCache(updated);
+                dataVersion.bump();
+            }
+            return updated;
+
+        } catch (DataAccessException ex) {
+            log.error("Database error while updating consult statuses", ex);
+            throw new GatewayException("Failed to update consults.", "DATABASE_ERROR");
         }
     }
 
-    private void updateAllConsultsCache(Consult result) {
-        var cache = cacheManager.getCache(CACHE_ALL_CONSULTS_KEY);
-        if (cache == null) {
-            log.warn("Cache 'allConsults' not found");
-            return;
+    private String statusUpdateConditions(ConsultFilter filter, ConsultStatus status, Set<ConsultStatus> sources,
+                                          List<Object> parameters) {
+        List<String> condition = new ArrayList<>();
+        condition.add("c.status IN (" + String.join(", ", Collections.nCopies(sources.size(), "?")) + ")");
+        sources.forEach(source -> parameters.add(source.name()));
+
+        ConsultFilterSql.addConditions(filter, false, condition, parameters);
+
+        if (status == ConsultStatus.CANCELLED) {
+            // Same rule as Consult.cancel(): past consults cannot be cancelled
+            LocalDate today = LocalDate.now();
+            condition.add("(c.local_date > ? OR (c.local_date = ? AND c.local_time > ?))");
+            parameters.add(today);
+            parameters.add(today);
+            parameters.add(LocalTime.now());
         }
+        return String.join(" AND ", condition);
+    }
 
-        Object raw = cache.get(CACHE_ALL_CONSULTS_KEY, Object.class);
-        List<Consult> currentList = null;
+    private String statusUpdateSql(String where) {
+        String update = "UPDATE consults c SET status = ? WHERE " + where;
+        if (isUpdateReturningSupported()) {
+            return "WITH u AS (" + update + " RETURNING c.*) " + UPDATED_SELECT + " FROM u" + UPDATED_JOIN;
+        }
+        // H2 exposes the updated rows through a data change delta table instead of RETURNING
+        return UPDATED_SELECT + " FROM FINAL TABLE (" + update + ") u" + UPDATED_JOIN;
+    }
 
-        if (raw instanceof List<?> rawList) {
-            currentList = rawList.stream()
-                    .filter(Consult.class::isInstance)
-                    .map(Consult.class::cast)
-                    .toList();
+    private boolean isUpdateReturningSupported() {
+        if (updateReturningSupported == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                updateReturningSupported = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException ex) {
+                throw new GatewayException("Failed to read database metadata.", "DATABASE_ERROR");
+            }
         }
+        return updateReturningSupported;
+    }
 
-        if (currentList != null) {
-            // Remove old version and add updated version
-            List<Consult> updatedList = new ArrayList<>(currentList);
-            updatedList.removeIf(c -> c.getId().equals(result.getId()));
-            updatedList.add(result);
-            cache.put(CACHE_ALL_CONSULTS_KEY, updatedList);
-            log.info("Consult updated in cache");
-        } else {
-            cache.put(CACHE_ALL_CONSULTS_KEY, List.of(result));
-            log.info("Cache initialized with updated consult");
+
+    private void evictFromCache(List<Consult> updated) {
+        var consultCache = cacheManager.getCache("consults");
+        if (consultCache != null) {
+            updated.forEach(consult -> consultCache.evict(consult.getId().getValue()));
         }
+        log.info("Evicted {} consults from cache after bulk status update", updated.size());
+    }
 
-        // Clear filters cache since the consult was updated
-        var filterCache = cacheManager.getCache("consultsByFilter");
-        if (filterCache != null) {
-            filterCache.clear();
-            log.info("Cleared consultsByFilter cache due to consult update");
+    private void applyUpdateConsultData(UpdateConsult updateConsult, ConsultEntity existingEntity) {
+        // Update only non-null fields
+        if (updateConsult.getReason() != null) {
+            existingEntity.setReason(updateConsult.getReason());
+        }
+        if (updateConsult.getDate() != null) {
+            existingEntity.setLocalDate(updateConsult.getDate());
+        }
+        if (updateConsult.getTime() != null) {
+            existingEntity.setLocalTime(updateConsult.getTime());
+        }
+        if (updateConsult.getStatus() != null) {
+            existingEntity.setStatus(updateConsult.getStatus().name());
         }
     }
 }
@@ -2,8 +2,11 @@ package com.fiap.easyconsult.infra.adapter.redis;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,9 +14,11 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
@@ -43,12 +48,19 @@ public class RedisConfig {
 
     @Bean
     public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
-                                          RedisCacheConfiguration cacheConfiguration) {
+                                          RedisCacheConfiguration cacheConfiguration,
+                                          ObjectMapper objectMapper,
+                                          @Value("${app.cache.consult-stats.ttl:30s}") Duration consultStatsTtl) {
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
 
         cacheConfigs.put("consults", cacheConfiguration.entryTtl(Duration.ofDays(180)));
-        cacheConfigs.put("consultsByFilter", cacheConfiguration.entryTtl(Duration.ofDays(180)));
-        cacheConfigs.put("allConsults", cacheConfiguration.entryTtl(Duration.ofDays(180)));
+
+        // Aggregates are not invalidated by writes, the short TTL bounds how stale they can be.
+        // Typed serializer: the shared one writes no type information and would read back plain maps
+        JavaType statsType = objectMapper.getTypeFactory().constructCollectionType(List.class, ConsultStats.class);
+        cacheConfigs.put("consultStats", cacheConfiguration
+                .entryTtl(consultStatsTtl)
+                .serializeValuesWith(SerializationPair.fromSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, statsType))));
 
         return RedisCacheManager.builder(redisConnectionFactory)
                 .withInitialCacheConfigurations(cacheConfigs)
@@ -0,0 +1,51 @@
+package com.fiap.easyconsult.infra.config;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Copies the JWT subject and scopes of the current request into the GraphQL context so that
+ * instrumentation running ahead of the data fetchers can read them.
+ */
+@Component
+public class AuthenticationScopeInterceptor implements WebGraphQlInterceptor {
+
+    public static final String SCOPES_KEY = "easyconsult.scopes";
+    public static final String SUBJECT_KEY = "easyconsult.subject";
+
+    private static final String SCOPE_PREFIX = "SCOPE_";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        List<String> scopes = scopes(authentication);
+        String subject = authentication != null ? authentication.getName() : null;
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(context -> {
+                    context.put(SCOPES_KEY, scopes);
+                    if (subject != null) {
+                        context.put(SUBJECT_KEY, subject);
+                    }
+                }).build());
+        return chain.next(request);
+    }
+
+    private List<String> scopes(Authentication authentication) {
+        if (authentication == null) {
+            return List.of();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(SCOPE_PREFIX))
+                .map(authority -> authority.substring(SCOPE_PREFIX.length()))
+                .toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.easyconsult.infra.adapter.gateway.ConsultDataVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts read-only GraphQL operations over HTTP GET and answers repeated reads with 304.
+ *
+ * The ETag combines the consult data version with the operation, its variables and the caller's
+ * identity and scopes, so it is computed without executing anything. A matching
+ * {@code If-None-Match} returns before the database is queried or any JSON is written. Tagged
+ * executions read from the primary: a lagging replica would tag data older than the version.
+ */
+@Slf4j
+@Configuration
+public class ConditionalGetConfig {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    @Bean
+    @Order(-1)
+    public RouterFunction<ServerResponse> graphQlGetRouterFunction(WebGraphQlHandler webGraphQlHandler,
+                                                                   ConsultDataVersion dataVersion,
+                                                                   ObjectMapper objectMapper,
+                                                                   @Value("${spring.graphql.http.path:/graphql}") String path) {
+        return RouterFunctions.route()
+                .GET(path, request -> request.param("query").isPresent() || request.param("extensions").isPresent(),
+                        request -> handle(request, webGraphQlHandler, dataVersion, objectMapper))
+                .build();
+    }
+
+    private ServerResponse handle(ServerRequest request, WebGraphQlHandler webGraphQlHandler,
+                                  ConsultDataVersion dataVersion, ObjectMapper objectMapper) {
+        Map<String, Object> body = new HashMap<>();
+        try {
+            request.param("query").ifPresent(query -> body.put("query", query));
+            request.param("operationName").ifPresent(name -> body.put("operationName", name));
+            parseJson(request, "variables", objectMapper).ifPresent(variables -> body.put("variables", variables));
+            parseJson(request, "extensions", objectMapper).ifPresent(extensions -> body.put("extensions", extensions));
+        } catch (IllegalArgumentException ex) {
+            return ServerResponse.badRequest().body(Map.of("errors", List.of(Map.of("message", ex.getMessage()))));
+        }
+
+        String version = dataVersion.current();
+        String etag = version != null ? etag(version, request) : null;
+        if (etag != null && request.headers().header(HttpHeaders.IF_NONE_MATCH).stream().anyMatch(etag::equals)) {
+            log.debug("GraphQL GET not modified ({})", etag);
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl()).build();
+        }
+
+        WebGraphQlRequest graphQlRequest = new WebGraphQlRequest(
+                request.uri(), request.headers().asHttpHeaders(), new LinkedMultiValueMap<>(),
+                request.remoteAddress().orElse(null), request.attributes(), body,
+                request.servletRequest().getRequestId(), LocaleContextHolder.getLocale());
+        graphQlRequest.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(context -> context.put(ReadOnlyOperationInstrumentation.READ_ONLY_KEY, true)).build());
+
+        Supplier<ServerResponse> execute = () -> {
+            Mono<ServerResponse> response = webGraphQlHandler.handleRequest(graphQlRequest)
+                    .map(result -> {
+                        var builder = ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .cacheControl(cacheControl())
+                                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+                        // Only complete results are tagged, so a client never keeps a failed response
+                        if (etag != null && result.getErrors().isEmpty()) {
+                            builder.eTag(etag);
+                        }
+                        return builder.body(result.toMap());
+                    });
+            // Subscribes right away, so the execution starts on this thread
+            return ServerResponse.async(response);
+        };
+        return etag != null ? ReplicaRoutingDataSource.onPrimary(execute) : execute.get();
+    }
+
+    private Optional<Map<String, Object>> parseJson(ServerRequest request, String name, ObjectMapper objectMapper) {
+        return request.param(name)
+                .filter(value -> !value.isBlank())
+                .map(value -> {
+                    try {
+                        return objectMapper.readValue(value, JSON_OBJECT);
+                    } catch (Exception ex) {
+                        throw new IllegalArgumentException("Invalid JSON in '" + name + "' parameter");
+                    }
+                });
+    }
+
+    private String etag(String version, ServerRequest request) {
+        StringBuilder key = new StringBuilder(version).append('\n').append(caller());
+        for (String param : new String[]{"query", "operationName", "variables", "extensions"}) {
+            key.append('\n').append(request.param(param).orElse(""));
+        }
+        return "\"" + PersistedDocumentProvider.sha256(key.toString()) + "\"";
+    }
+
+    private String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "";
+        }
+        return authentication.getName() + "|" + authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private CacheControl cacheControl() {
+        return CacheControl.noCache().cachePrivate();
+    }
+}
@@ -0,0 +1,112 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExperimentalApi;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental delivery of {@code @defer} fragments over {@code multipart/mixed} responses.
+ *
+ * Requests that accept {@code multipart/mixed} run with graphql-java's incremental support enabled:
+ * the initial payload is written as soon as the non-deferred fields resolve, and each deferred
+ * fragment follows in its own part. Other clients keep receiving a single JSON response, where
+ * {@code @defer} has no effect.
+ */
+@Configuration
+public class IncrementalDeliveryConfig {
+
+    private static final MediaType MULTIPART_MIXED = MediaType.parseMediaType("multipart/mixed");
+    private static final MediaType INCREMENTAL_CONTENT_TYPE =
+            MediaType.parseMediaType("multipart/mixed; boundary=\"-\"; deferSpec=20220824");
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {};
+
+    private static final byte[] PART_START = "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\r\n-----\r\n".getBytes(StandardCharsets.UTF_8);
+
+    @Bean
+    @Order(-1)
+    public RouterFunction<ServerResponse> graphQlIncrementalRouterFunction(WebGraphQlHandler webGraphQlHandler,
+                                                                           ObjectMapper objectMapper,
+                                                                           @Value("${spring.graphql.http.path:/graphql}") String path) {
+        return RouterFunctions.route()
+                .POST(path, IncrementalDeliveryConfig::acceptsMultipart,
+                        request -> handle(request, webGraphQlHandler, objectMapper))
+                .build();
+    }
+
+    // Only an explicit multipart/mixed counts; wildcards keep the regular JSON response
+    private static boolean acceptsMultipart(ServerRequest request) {
+        return request.headers().accept().stream()
+                .anyMatch(type -> MULTIPART_MIXED.getType().equals(type.getType())
+                        && MULTIPART_MIXED.getSubtype().equals(type.getSubtype()));
+    }
+
+    private ServerResponse handle(ServerRequest request, WebGraphQlHandler webGraphQlHandler, ObjectMapper objectMapper) {
+        Map<String, Object> body;
+        try {
+            body = request.body(JSON_OBJECT);
+        } catch (Exception ex) {
+            return ServerResponse.badRequest().body(Map.of("errors", List.of(Map.of("message", "Invalid GraphQL request body"))));
+        }
+
+        WebGraphQlRequest graphQlRequest = new WebGraphQlRequest(
+                request.uri(), request.headers().asHttpHeaders(), new LinkedMultiValueMap<>(),
+                request.remoteAddress().orElse(null), request.attributes(), body,
+                request.servletRequest().getRequestId(), LocaleContextHolder.getLocale());
+        graphQlRequest.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(context -> context.put(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true)).build());
+
+        Mono<ServerResponse> response = webGraphQlHandler.handleRequest(graphQlRequest)
+                .map(result -> result.getExecutionResult() instanceof IncrementalExecutionResult incremental
+                        ? multipart(result, incremental, objectMapper)
+                        : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(result.toMap()));
+        return ServerResponse.async(response);
+    }
+
+    private ServerResponse multipart(WebGraphQlResponse initial, IncrementalExecutionResult incremental, ObjectMapper objectMapper) {
+        return ServerResponse.ok()
+                .contentType(INCREMENTAL_CONTENT_TYPE)
+                .build((servletRequest, servletResponse) -> {
+                    OutputStream out = servletResponse.getOutputStream();
+                    writePart(out, initial.toMap(), objectMapper);
+                    // Each deferred fragment is written and flushed as soon as graphql-java completes it
+                    for (DelayedIncrementalPartialResult part : Flux.from(incremental.getIncrementalItemPublisher()).toIterable()) {
+                        writePart(out, part.toSpecification(), objectMapper);
+                    }
+                    out.write(END);
+                    out.flush();
+                    return null;
+                });
+    }
+
+    private void writePart(OutputStream out, Map<String, Object> payload, ObjectMapper objectMapper) throws IOException {
+        out.write(PART_START);
+        out.write(objectMapper.writeValueAsBytes(payload));
+        out.flush();
+    }
+}
@@ -37,5 +37,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    // Async results (virtual-thread controllers, SSE) are written in an ASYNC dispatch that is authorized again
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 }
 
@@ -0,0 +1,124 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.fiap.easyconsult.core.exception.CustomGraphQLError;
+import com.fiap.easyconsult.core.exception.ErrorCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Serves parsed and validated documents keyed by the SHA-256 of the query text.
+ *
+ * Supports the automatic persisted query protocol: a client may send only
+ * {@code extensions.persistedQuery.sha256Hash} and, on PersistedQueryNotFound, retry
+ * once with the full text to register it. Only documents that validated cleanly are
+ * cached, and the cache is bounded so arbitrary queries cannot grow it without limit.
+ *
+ * In allowlist mode only the operations shipped with the application are executed;
+ * ad-hoc queries and APQ registrations of unknown hashes are rejected before parsing.
+ */
+@Slf4j
+public class PersistedDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final String NOT_FOUND = "PERSISTED_QUERY_NOT_FOUND";
+    private static final String HASH_MISMATCH = "PERSISTED_QUERY_HASH_MISMATCH";
+    private static final String NOT_ALLOWED = "PERSISTED_QUERY_NOT_ALLOWED";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final Map<String, String> allowlist;
+    private final boolean allowlistOnly;
+
+    public PersistedDocumentProvider(long maxDocuments, Map<String, String> allowlist, boolean allowlistOnly) {
+        this.documents = Caffeine.newBuilder().maximumSize(maxDocuments).build();
+        this.allowlist = Map.copyOf(allowlist);
+        this.allowlistOnly = allowlistOnly;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(resolve(executionInput, parseAndValidateFunction));
+    }
+
+    private PreparsedDocumentEntry resolve(ExecutionInput input, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        String query = hasQueryText(input) ? input.getQuery() : null;
+        String requestedHash = persistedQueryHash(input);
+
+        if (requestedHash == null && query == null) {
+            return error("Query document is required", "QUERY_REQUIRED", ErrorCode.INVALID_ARGUMENT);
+        }
+
+        String hash = requestedHash != null ? requestedHash.toLowerCase() : sha256(query);
+        if (requestedHash != null && query != null && !hash.equals(sha256(query))) {
+            return error("Persisted query hash does not match the query text", HASH_MISMATCH, ErrorCode.INVALID_ARGUMENT);
+        }
+
+        if (allowlistOnly && !allowlist.containsKey(hash)) {
+            log.warn("Rejected operation outside the persisted query allowlist: {}", hash);
+            return error("Operation is not in the persisted query allowlist", NOT_ALLOWED, ErrorCode.FORBIDDEN);
+        }
+
+        PreparsedDocumentEntry cached = documents.getIfPresent(hash);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (query == null) {
+            query = allowlist.get(hash);
+            if (query == null) {
+                return error("PersistedQueryNotFound", NOT_FOUND, ErrorCode.INVALID_ARGUMENT);
+            }
+        }
+
+        String document = query;
+        PreparsedDocumentEntry entry = parseAndValidate.apply(input.transform(builder -> builder.query(document)));
+        if (!entry.hasErrors()) {
+            documents.put(hash, entry);
+        }
+        return entry;
+    }
+
+    public static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean hasQueryText(ExecutionInput input) {
+        String query = input.getQuery();
+        return query != null && !query.isBlank() && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+    }
+
+    private static String persistedQueryHash(ExecutionInput input) {
+        Map<String, Object> extensions = input.getExtensions();
+        if (extensions == null || !(extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery)) {
+            return null;
+        }
+        Object hash = persistedQuery.get("sha256Hash");
+        return hash instanceof String value && !value.isBlank() ? value : null;
+    }
+
+    private static PreparsedDocumentEntry error(String message, String code, ErrorCode classification) {
+        return new PreparsedDocumentEntry(new CustomGraphQLError(
+                message,
+                null,
+                Map.of("code", code, "classification", classification.name()),
+                classification
+        ));
+    }
+}
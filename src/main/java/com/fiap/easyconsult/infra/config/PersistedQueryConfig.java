@@ -0,0 +1,46 @@
+package com.fiap.easyconsult.infra.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+public class PersistedQueryConfig {
+
+    @Bean
+    public PersistedDocumentProvider persistedDocumentProvider(
+            ResourcePatternResolver resourceResolver,
+            @Value("${app.graphql.persisted-queries.cache-size:500}") long cacheSize,
+            @Value("${app.graphql.persisted-queries.allowlist-location:classpath*:graphql/persisted/*.graphql}") String allowlistLocation,
+            @Value("${app.graphql.persisted-queries.allowlist-only:false}") boolean allowlistOnly) throws IOException {
+        Map<String, String> allowlist = loadAllowlist(resourceResolver, allowlistLocation);
+        log.info("Persisted queries: {} allowlisted operations, allowlist-only={}", allowlist.size(), allowlistOnly);
+        return new PersistedDocumentProvider(cacheSize, allowlist, allowlistOnly);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(PersistedDocumentProvider persistedDocumentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(persistedDocumentProvider));
+    }
+
+    private Map<String, String> loadAllowlist(ResourcePatternResolver resourceResolver, String location) throws IOException {
+        Map<String, String> allowlist = new HashMap<>();
+        for (Resource resource : resourceResolver.getResources(location)) {
+            String query = resource.getContentAsString(StandardCharsets.UTF_8);
+            String hash = PersistedDocumentProvider.sha256(query);
+            allowlist.put(hash, query);
+            log.debug("Allowlisted operation {} -> {}", resource.getFilename(), hash);
+        }
+        return allowlist;
+    }
+}
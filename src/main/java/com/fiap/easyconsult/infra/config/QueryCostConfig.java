@@ -0,0 +1,27 @@
+package com.fiap.easyconsult.infra.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class QueryCostConfig {
+
+    @Bean
+    public QueryCostInstrumentation queryCostInstrumentation(
+            @Value("${app.graphql.cost.budget.medico:2500}") int medicoBudget,
+            @Value("${app.graphql.cost.budget.enfermeiro:2500}") int enfermeiroBudget,
+            @Value("${app.graphql.cost.budget.paciente:500}") int pacienteBudget,
+            @Value("${app.graphql.cost.budget.default:100}") int defaultBudget,
+            @Value("${app.graphql.cost.max-depth:8}") int maxDepth,
+            @Value("${app.graphql.cost.default-list-size:20}") int defaultListSize) {
+        Map<String, Integer> budgets = Map.of(
+                "medico", medicoBudget,
+                "enfermeiro", enfermeiroBudget,
+                "paciente", pacienteBudget
+        );
+        return new QueryCostInstrumentation(budgets, defaultBudget, maxDepth, defaultListSize);
+    }
+}
@@ -0,0 +1,165 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.fiap.easyconsult.core.exception.CustomGraphQLError;
+import com.fiap.easyconsult.core.exception.ErrorCode;
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.QueryComplexityCalculator;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLTypeUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rejects operations whose estimated cost or depth exceeds the budget of the caller's scope.
+ *
+ * Runs after validation and before any data fetcher, so an oversized operation never
+ * reaches the database. Every field costs one point; list fields multiply the cost of
+ * their selection by the requested page size ({@code first}/{@code limit} on the field
+ * or on the enclosing connection), falling back to a default cardinality. Introspection
+ * fields are not counted.
+ */
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final List<String> SIZE_ARGUMENTS = List.of("first", "limit");
+
+    private final Map<String, Integer> scopeBudgets;
+    private final int defaultBudget;
+    private final int maxDepth;
+    private final int defaultListSize;
+
+    public QueryCostInstrumentation(Map<String, Integer> scopeBudgets, int defaultBudget, int maxDepth, int defaultListSize) {
+        this.scopeBudgets = Map.copyOf(scopeBudgets);
+        this.defaultBudget = defaultBudget;
+        this.maxDepth = maxDepth;
+        this.defaultListSize = defaultListSize;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                           InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        String operationName = context.getOperationDefinition().getName();
+
+        int depth = depth(context);
+        if (depth > maxDepth) {
+            throw reject("Query depth " + depth + " exceeds the maximum of " + maxDepth,
+                    "QUERY_TOO_DEEP", Map.of("depth", depth, "maxDepth", maxDepth));
+        }
+
+        int budget = budget(context.getGraphQLContext());
+        int cost = QueryComplexityCalculator.newCalculator()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(operationName)
+                .variables(context.getCoercedVariables())
+                .fieldComplexityCalculator(this::fieldCost)
+                .build()
+                .calculate();
+
+        log.debug("Operation {} cost {} (budget {}, depth {})", operationName, cost, budget, depth);
+        if (cost > budget) {
+            throw reject("Query cost " + cost + " exceeds the budget of " + budget,
+                    "QUERY_TOO_EXPENSIVE", Map.of("cost", cost, "budget", budget));
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    private int fieldCost(FieldComplexityEnvironment environment, int childCost) {
+        if (isIntrospection(environment.getField().getName())) {
+            return 0;
+        }
+        if (!(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()) instanceof GraphQLList)) {
+            return saturate(1L + childCost);
+        }
+        return saturate(1L + (long) cardinality(environment) * Math.max(childCost, 1));
+    }
+
+    private int cardinality(FieldComplexityEnvironment environment) {
+        Integer requested = requestedSize(environment.getArguments());
+        if (requested == null && environment.getParentEnvironment() != null) {
+            requested = requestedSize(environment.getParentEnvironment().getArguments());
+        }
+        return requested != null ? Math.max(requested, 0) : defaultListSize;
+    }
+
+    private Integer requestedSize(Map<String, Object> arguments) {
+        Integer size = sizeArgument(arguments);
+        // Listings also take a limit inside their filter, e.g. consults(filter: {limit: 5}), and serve the smaller one
+        if (arguments.get("filter") instanceof Map<?, ?> filter && filter.get("limit") instanceof Integer limit) {
+            return size != null ? Math.min(size, limit) : limit;
+        }
+        return size;
+    }
+
+    private Integer sizeArgument(Map<String, Object> arguments) {
+        return SIZE_ARGUMENTS.stream()
+                .map(arguments::get)
+                .filter(Integer.class::isInstance)
+                .map(Integer.class::cast)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private int depth(ExecutionContext context) {
+        return QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getOperationDefinition().getName())
+                .coercedVariables(context.getCoercedVariables())
+                .build()
+                .reducePreOrder((environment, acc) -> Math.max(pathLength(environment), acc), 0);
+    }
+
+    private int pathLength(QueryVisitorFieldEnvironment environment) {
+        int length = 0;
+        for (QueryVisitorFieldEnvironment current = environment; current != null; current = current.getParentEnvironment()) {
+            if (isIntrospection(current.getField().getName())) {
+                return 0;
+            }
+            length++;
+        }
+        return length;
+    }
+
+    private int budget(GraphQLContext graphQLContext) {
+        Collection<String> scopes = graphQLContext.getOrDefault(AuthenticationScopeInterceptor.SCOPES_KEY, List.of());
+        return scopes.stream()
+                .map(scopeBudgets::get)
+                .filter(Objects::nonNull)
+                .max(Integer::compare)
+                .orElse(defaultBudget);
+    }
+
+    private AbortExecutionException reject(String message, String code, Map<String, Object> details) {
+        log.warn("Rejected operation before execution: {}", message);
+        Map<String, Object> extensions = new LinkedHashMap<>(details);
+        extensions.put("code", code);
+        extensions.put("classification", ErrorCode.QUERY_LIMIT_EXCEEDED.name());
+        return new AbortExecutionException(List.of(
+                new CustomGraphQLError(message, null, extensions, ErrorCode.QUERY_LIMIT_EXCEEDED)));
+    }
+
+    private static boolean isIntrospection(String fieldName) {
+        return fieldName.startsWith("__");
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+}
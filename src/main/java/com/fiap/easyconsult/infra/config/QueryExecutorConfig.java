@@ -0,0 +1,54 @@
+package com.fiap.easyconsult.infra.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for GraphQL root queries. Root fields returning a CompletableFuture run concurrently on it,
+ * so a document with several independent queries costs about as much as its slowest field.
+ *
+ * The executor is bounded: when it is saturated the request thread runs the field itself (platform
+ * threads) or waits for a permit (virtual threads), so load never piles up in an unbounded queue.
+ * Tasks run with the caller's security context, so reads know who is asking, and keep reading from
+ * the primary when the caller does.
+ */
+@Configuration
+public class QueryExecutorConfig {
+
+    public static final String QUERY_EXECUTOR = "graphqlQueryExecutor";
+
+    @Bean(name = QUERY_EXECUTOR)
+    public AsyncTaskExecutor graphqlQueryExecutor(
+            @Value("${app.graphql.query-executor.pool-size:8}") int poolSize,
+            @Value("${app.graphql.query-executor.queue-capacity:100}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("graphql-query-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+            executor.setTaskDecorator(QueryExecutorConfig::decorate);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("graphql-query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(QueryExecutorConfig::decorate);
+        executor.initialize();
+        return executor;
+    }
+
+    private static Runnable decorate(Runnable task) {
+        return new DelegatingSecurityContextRunnable(ReplicaRoutingDataSource.propagate(task));
+    }
+}
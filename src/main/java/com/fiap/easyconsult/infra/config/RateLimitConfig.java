@@ -0,0 +1,67 @@
+package com.fiap.easyconsult.infra.config;
+
+import graphql.language.OperationDefinition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class RateLimitConfig {
+
+    private static final String PREFIX = "app.graphql.rate-limit.";
+
+    // Operations per period, by scope and operation type: query, mutation, subscription
+    private static final Map<String, int[]> DEFAULT_LIMITS = Map.of(
+            "medico", new int[]{600, 120, 30},
+            "enfermeiro", new int[]{600, 120, 30},
+            "paciente", new int[]{120, 30, 10},
+            "default", new int[]{30, 10, 5}
+    );
+
+    // Ahead of the other instrumentation, so a rejected operation is never costed
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnProperty(name = "app.graphql.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public RateLimitInstrumentation rateLimitInstrumentation(
+            Environment environment,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            @Value("${app.graphql.rate-limit.store:memory}") String store,
+            @Value("${app.graphql.rate-limit.period:1m}") Duration period,
+            @Value("${app.graphql.rate-limit.max-subjects:100000}") long maxSubjects) {
+        RateLimiter rateLimiter = new RateLimiter(
+                "redis".equalsIgnoreCase(store) ? redisTemplate.getIfAvailable() : null,
+                System::nanoTime, period, maxSubjects);
+
+        Map<String, Map<OperationDefinition.Operation, Integer>> scopeLimits = new HashMap<>();
+        DEFAULT_LIMITS.keySet().stream()
+                .filter(scope -> !"default".equals(scope))
+                .forEach(scope -> scopeLimits.put(scope, limits(environment, scope)));
+        return new RateLimitInstrumentation(rateLimiter, scopeLimits, limits(environment, "default"));
+    }
+
+    private Map<OperationDefinition.Operation, Integer> limits(Environment environment, String scope) {
+        Map<OperationDefinition.Operation, Integer> limits = new EnumMap<>(OperationDefinition.Operation.class);
+        int[] defaults = DEFAULT_LIMITS.get(scope);
+        OperationDefinition.Operation[] operations = {
+                OperationDefinition.Operation.QUERY,
+                OperationDefinition.Operation.MUTATION,
+                OperationDefinition.Operation.SUBSCRIPTION
+        };
+        for (int i = 0; i < operations.length; i++) {
+            String key = PREFIX + scope + "." + operations[i].name().toLowerCase();
+            limits.put(operations[i], environment.getProperty(key, Integer.class, defaults[i]));
+        }
+        return limits;
+    }
+}
@@ -0,0 +1,78 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.fiap.easyconsult.core.exception.CustomGraphQLError;
+import com.fiap.easyconsult.core.exception.ErrorCode;
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.OperationDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Limits how many operations of each type (query, mutation, subscription) a JWT subject may run.
+ *
+ * Every subject has one bucket per operation type, sized by the most generous of its scopes; an
+ * operation with no token left is rejected before any data fetcher runs, with the number of
+ * seconds to wait in {@code retryAfterSeconds}. Requests without a subject share one bucket.
+ */
+@Slf4j
+public class RateLimitInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final RateLimiter rateLimiter;
+    private final Map<String, Map<OperationDefinition.Operation, Integer>> scopeLimits;
+    private final Map<OperationDefinition.Operation, Integer> defaultLimits;
+
+    public RateLimitInstrumentation(RateLimiter rateLimiter,
+                                    Map<String, Map<OperationDefinition.Operation, Integer>> scopeLimits,
+                                    Map<OperationDefinition.Operation, Integer> defaultLimits) {
+        this.rateLimiter = rateLimiter;
+        this.scopeLimits = Map.copyOf(scopeLimits);
+        this.defaultLimits = Map.copyOf(defaultLimits);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                           InstrumentationState state) {
+        GraphQLContext graphQLContext = parameters.getExecutionContext().getGraphQLContext();
+        OperationDefinition.Operation operation = parameters.getExecutionContext().getOperationDefinition().getOperation();
+        String subject = graphQLContext.getOrDefault(AuthenticationScopeInterceptor.SUBJECT_KEY, ANONYMOUS);
+        int limit = limit(graphQLContext, operation);
+
+        Duration wait = rateLimiter.tryAcquire(subject + ":" + operation.name(), limit);
+        if (!wait.isZero()) {
+            long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+            log.warn("Rate limit of {} {} operations exceeded by {}", limit, operation, subject);
+            throw new AbortExecutionException(List.of(new CustomGraphQLError(
+                    "Too many " + operation.name().toLowerCase() + " operations, retry in " + retryAfterSeconds + "s",
+                    null,
+                    Map.of("code", "RATE_LIMITED",
+                            "classification", ErrorCode.RATE_LIMITED.name(),
+                            "limit", limit,
+                            "retryAfterSeconds", retryAfterSeconds),
+                    ErrorCode.RATE_LIMITED)));
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    private int limit(GraphQLContext graphQLContext, OperationDefinition.Operation operation) {
+        Collection<String> scopes = graphQLContext.getOrDefault(AuthenticationScopeInterceptor.SCOPES_KEY, List.of());
+        return scopes.stream()
+                .map(scopeLimits::get)
+                .filter(Objects::nonNull)
+                .map(limits -> limits.getOrDefault(operation, 0))
+                .max(Integer::compare)
+                .orElseGet(() -> defaultLimits.getOrDefault(operation, 0));
+    }
+}
@@ -0,0 +1,101 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets that refill {@code limit} tokens per period, holding at most {@code limit}.
+ *
+ * Each bucket is a single number, the instant at which it will be full again: taking a token moves
+ * it one refill interval forward, and the request is rejected when that would put it more than a
+ * period ahead of now. Locally that is one compare-and-set on an {@link AtomicLong}, with no lock
+ * shared between subjects. With Redis the same step runs in a script against the server clock, so
+ * all instances draw from the same buckets; if Redis fails the local buckets take over.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "easyconsult:rate-limit:";
+
+    // Times in microseconds from the Redis clock; the key expires once the bucket is full again
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local now_parts = redis.call('TIME')
+            local now = tonumber(now_parts[1]) * 1000000 + tonumber(now_parts[2])
+            local interval = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local full_at = math.max(tonumber(redis.call('GET', KEYS[1]) or '0'), now) + interval
+            if full_at - now > period then
+              return full_at - period - now
+            end
+            redis.call('SET', KEYS[1], string.format('%d', full_at), 'PX', math.max(math.ceil((full_at - now) / 1000), 1))
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LongSupplier nanoClock;
+    private final Duration period;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param redisTemplate shared store, or null to keep the buckets in this instance only
+     */
+    public RateLimiter(StringRedisTemplate redisTemplate, LongSupplier nanoClock, Duration period, long maxBuckets) {
+        this.redisTemplate = redisTemplate;
+        this.nanoClock = nanoClock;
+        this.period = period;
+        // An idle bucket is full again after one period, so dropping it then loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(period)
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket of {@code key}.
+     *
+     * @return {@link Duration#ZERO} when the token was taken, otherwise how long until one is available
+     */
+    public Duration tryAcquire(String key, int limit) {
+        if (limit <= 0) {
+            return period;
+        }
+        if (redisTemplate != null) {
+            try {
+                Long waitMicros = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + key),
+                        Long.toString(TimeUnit.NANOSECONDS.toMicros(period.toNanos()) / limit),
+                        Long.toString(TimeUnit.NANOSECONDS.toMicros(period.toNanos())));
+                return waitMicros != null ? Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(waitMicros)) : Duration.ZERO;
+            } catch (RuntimeException ex) {
+                log.warn("Could not reach the shared rate limit store, using local buckets", ex);
+            }
+        }
+        return tryAcquireLocally(key, limit);
+    }
+
+    private Duration tryAcquireLocally(String key, int limit) {
+        AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(Long.MIN_VALUE));
+        long periodNanos = period.toNanos();
+        long interval = periodNanos / limit;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > periodNanos) {
+                return Duration.ofNanos(next - periodNanos - now);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
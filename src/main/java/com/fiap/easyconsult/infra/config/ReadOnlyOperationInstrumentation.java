@@ -0,0 +1,41 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.fiap.easyconsult.core.exception.CustomGraphQLError;
+import com.fiap.easyconsult.core.exception.ErrorCode;
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.OperationDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Only queries may run in a read-only request (HTTP GET). The check runs on the resolved document,
+ * so it also covers persisted queries sent by hash.
+ */
+@Component
+public class ReadOnlyOperationInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String READ_ONLY_KEY = "easyconsult.readOnly";
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                           InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        OperationDefinition.Operation operation = context.getOperationDefinition().getOperation();
+        if (Boolean.TRUE.equals(context.getGraphQLContext().get(READ_ONLY_KEY)) && operation != OperationDefinition.Operation.QUERY) {
+            throw new AbortExecutionException(List.of(new CustomGraphQLError(
+                    "Only queries can be sent over HTTP GET",
+                    null,
+                    Map.of("code", "OPERATION_NOT_ALLOWED", "classification", ErrorCode.INVALID_ARGUMENT.name()),
+                    ErrorCode.INVALID_ARGUMENT)));
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+}
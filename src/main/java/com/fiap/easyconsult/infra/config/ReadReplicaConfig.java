@@ -0,0 +1,75 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to replica pools, leaving everything else on the primary.
+ *
+ * The application {@link DataSource} is a lazy proxy: the physical connection is only taken at the
+ * first statement, once the transaction is known to be read-only, and read-only connections come
+ * from the {@link ReplicaRoutingDataSource}. Replica pools are sized apart from the primary through
+ * {@code app.datasource.replicas.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String PREFIX = "app.datasource.replicas.";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${app.datasource.replicas.max-lag:10s}") Duration maxLag,
+            @Value("${app.datasource.replicas.check-interval:2s}") Duration checkInterval,
+            @Value("${app.datasource.replicas.read-your-writes:true}") boolean readYourWrites) {
+        Binder binder = Binder.get(environment);
+        List<String> urls = binder.bind(PREFIX + "urls", Bindable.listOf(String.class)).orElse(List.of());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            binder.bind(PREFIX + "hikari", Bindable.ofInstance(config));
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(environment.getProperty(PREFIX + "username", properties.determineUsername()));
+            config.setPassword(environment.getProperty(PREFIX + "password", properties.determinePassword()));
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, checkInterval, readYourWrites,
+                System::currentTimeMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
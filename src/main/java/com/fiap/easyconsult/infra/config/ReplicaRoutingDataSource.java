@@ -0,0 +1,257 @@
+package com.fiap.easyconsult.infra.config;
+
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections for read-only transactions, spread round-robin over the healthy replicas.
+ *
+ * A replica is healthy when its last check answered and its replication lag was within
+ * {@code maxLag}; when none is, or a replica refuses a connection, the primary serves the read.
+ * With read-your-writes enabled, a subject that changed consults reads from the primary until a
+ * replica has replayed past that change, judged from the lag measured at each check. Work run
+ * through {@link #onPrimary} always reads from the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final String ANONYMOUS = "anonymous";
+    private static final int CHECK_TIMEOUT_SECONDS = 5;
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    // 0 once everything received is replayed, so an idle primary does not read as lag
+    private static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final LongSupplier clock;
+    private final Cache<String, Long> lastWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService checks;
+
+    /**
+     * @param replicas       replica pools by name
+     * @param readYourWrites whether subjects read their own changes from the primary until replicas catch up
+     * @param clock          epoch milliseconds
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    Duration checkInterval, boolean readYourWrites, LongSupplier clock) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(entry -> new Replica(entry.getKey(), entry.getValue())).toList();
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.clock = clock;
+        // A replica lagging longer than this is unhealthy anyway, so older writes need no tracking
+        this.lastWrites = readYourWrites
+                ? Caffeine.newBuilder().expireAfterWrite(maxLag.plus(checkInterval)).maximumSize(100_000).build()
+                : null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = choose(currentSubject());
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                replica.healthy = false;
+                log.warn("Replica {} refused a connection, reading from the primary until the next check", replica.name, ex);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Replica pools only know their configured credentials, so explicit ones go to the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Runs the work with its reads served by the primary, including tasks it hands to an executor
+     * decorated with {@link #propagate}.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(true);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Carries the caller's {@link #onPrimary} state over to the thread that runs the task.
+     */
+    public static Runnable propagate(Runnable task) {
+        Boolean primaryOnly = PRIMARY_ONLY.get();
+        if (primaryOnly == null) {
+            return task;
+        }
+        return () -> {
+            Boolean previous = PRIMARY_ONLY.get();
+            PRIMARY_ONLY.set(primaryOnly);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Boolean previous) {
+        if (previous == null) {
+            PRIMARY_ONLY.remove();
+        } else {
+            PRIMARY_ONLY.set(previous);
+        }
+    }
+
+    /**
+     * Whether reads on this thread go to the primary whatever the replicas' health: inside
+     * {@link #onPrimary}, or while the current subject has a change the replicas may not have replayed.
+     */
+    public boolean pinnedToPrimary() {
+        return PRIMARY_ONLY.get() != null || (lastWrites != null && lastWrites.getIfPresent(currentSubject()) != null);
+    }
+
+    /**
+     * Measures every replica, marking it healthy when it answers with a lag within the limit.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long checkedAt = clock.getAsLong();
+            try {
+                long lag = lagMillis(replica);
+                replica.caughtUpTo = checkedAt - lag;
+                boolean healthy = lag <= maxLag.toMillis();
+                if (healthy != replica.healthy) {
+                    log.info("Replica {} is now {} (lag {} ms)", replica.name, healthy ? "healthy" : "lagging", lag);
+                }
+                replica.healthy = healthy;
+            } catch (RuntimeException ex) {
+                if (replica.healthy) {
+                    log.warn("Replica {} failed its health check", replica.name, ex);
+                }
+                replica.healthy = false;
+            }
+        }
+    }
+
+    /**
+     * Records that the current subject changed consults, so its next reads wait for the replicas.
+     * Runs after commit, so the recorded time is never earlier than the change itself.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConsultChanged(ConsultChangedEvent event) {
+        if (lastWrites != null) {
+            lastWrites.put(currentSubject(), clock.getAsLong());
+        }
+    }
+
+    /**
+     * Checks the replicas once, so reads can use them right away, then again every check interval.
+     */
+    public void start() {
+        checkReplicas();
+        checks = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-check").daemon().factory());
+        checks.scheduleWithFixedDelay(this::checkReplicas, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        if (checks != null) {
+            checks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Could not close replica {}", replica.name, ex);
+                }
+            }
+        }
+    }
+
+    private Replica choose(String subject) {
+        if (PRIMARY_ONLY.get() != null) {
+            return null;
+        }
+        Long lastWrite = lastWrites != null ? lastWrites.getIfPresent(subject) : null;
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy && (lastWrite == null || replica.caughtUpTo >= lastWrite)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private long lagMillis(Replica replica) {
+        if (replica.postgres == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(replica.dataSource, DatabaseMetaData::getDatabaseProductName);
+                replica.postgres = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException ex) {
+                throw new IllegalStateException("Could not read replica metadata", ex);
+            }
+        }
+        if (!replica.postgres) {
+            replica.template.execute("SELECT 1");
+            return 0;
+        }
+        // NULL when the server is not in recovery, i.e. not behind anything
+        Number lag = replica.template.queryForObject(POSTGRES_LAG_QUERY, Number.class);
+        return lag == null ? 0 : lag.longValue();
+    }
+
+    private String currentSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : ANONYMOUS;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate template;
+        private volatile Boolean postgres;
+        private volatile boolean healthy;
+        private volatile long caughtUpTo;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.template = new JdbcTemplate(dataSource);
+            this.template.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+        }
+    }
+}
@@ -27,6 +27,7 @@ public class SecurityConfig {
                     .requestMatchers("/graphiql/**").permitAll()
                     .requestMatchers("/api/kafka/**").permitAll()  // Endpoints Kafka públicos
                     .requestMatchers("/graphql", "/graphql/**").authenticated()
+                    .requestMatchers("/api/consults/**").authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
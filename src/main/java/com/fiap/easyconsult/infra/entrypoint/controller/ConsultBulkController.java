@@ -0,0 +1,87 @@
+package com.fiap.easyconsult.infra.entrypoint.controller;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
+import com.fiap.easyconsult.core.exception.DomainException;
+import com.fiap.easyconsult.core.inputport.ConsultCommandUseCase;
+import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultRequestDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.response.CreateConsultResultDto;
+import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many consults in one request. Each input is validated on its own so that a bad
+ * item is reported in place instead of failing the whole batch; the valid ones are handed
+ * to the use case together.
+ */
+@Controller
+public class ConsultBulkController {
+
+    private static final String VALIDATION_ERROR = "CONSULT_VALIDATION_ERROR";
+
+    private final ConsultCommandUseCase consultCommandUseCase;
+    private final ConsultMapper mapper;
+    private final Validator validator;
+
+    public ConsultBulkController(ConsultCommandUseCase consultCommandUseCase, ConsultMapper mapper, Validator validator) {
+        this.consultCommandUseCase = consultCommandUseCase;
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    @MutationMapping
+    @PreAuthorize("hasAnyAuthority('SCOPE_enfermeiro')")
+    public List<CreateConsultResultDto> createConsults(@Argument("inputs") List<ConsultRequestDto> inputs) {
+        if (inputs.size() > ConsultCommandUseCase.MAX_BATCH_SIZE) {
+            throw new DomainException("Batch size must be at most " + ConsultCommandUseCase.MAX_BATCH_SIZE, "INVALID_BATCH_SIZE");
+        }
+
+        CreateConsultResultDto[] results = new CreateConsultResultDto[inputs.size()];
+        List<Consult> valid = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < inputs.size(); i++) {
+            try {
+                valid.add(toValidConsult(inputs.get(i)));
+                positions.add(i);
+            } catch (DomainException ex) {
+                results[i] = failed(i, ex.getCode(), ex.getMessage());
+            } catch (IllegalArgumentException ex) {
+                results[i] = failed(i, VALIDATION_ERROR, ex.getMessage());
+            }
+        }
+
+        for (ConsultCreationResult result : consultCommandUseCase.createConsults(valid)) {
+            int index = positions.get(result.getIndex());
+            results[index] = result.isSuccess()
+                    ? new CreateConsultResultDto(index, true, mapper.toConsultResponse(result.getConsult()), null, null)
+                    : failed(index, result.getCode(), result.getMessage());
+        }
+
+        return List.of(results);
+    }
+
+    private Consult toValidConsult(ConsultRequestDto input) {
+        Set<ConstraintViolation<ConsultRequestDto>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+        return mapper.toConsult(input);
+    }
+
+    private CreateConsultResultDto failed(int index, String code, String message) {
+        return new CreateConsultResultDto(index, false, null, code, message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.fiap.easyconsult.infra.entrypoint.controller;
+
+import com.fiap.easyconsult.core.inputport.ConsultQueryUseCase;
+import com.fiap.easyconsult.infra.entrypoint.dto.data.PatientDataDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.data.ProfessionalDataDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.response.ConsultResponseDto;
+import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the participants of a consult only when the client selects them. All consults
+ * in one response share a single batched lookup per participant type.
+ */
+@Controller
+public class ConsultParticipantController {
+
+    public ConsultParticipantController(BatchLoaderRegistry registry, ConsultQueryUseCase consultQueryUseCase, ConsultMapper mapper) {
+        registry.forTypePair(Long.class, PatientDataDto.class)
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() ->
+                        consultQueryUseCase.findPatients(ids).entrySet().stream()
+                                .collect(Collectors.toMap(Map.Entry::getKey, e -> mapper.toPatientData(e.getValue())))));
+
+        registry.forTypePair(Long.class, ProfessionalDataDto.class)
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() ->
+                        consultQueryUseCase.findProfessionals(ids).entrySet().stream()
+                                .collect(Collectors.toMap(Map.Entry::getKey, e -> mapper.toProfessionalData(e.getValue())))));
+    }
+
+    @SchemaMapping(typeName = "ConsultResponseDto")
+    public CompletableFuture<PatientDataDto> patient(ConsultResponseDto consult, DataLoader<Long, PatientDataDto> loader) {
+        if (consult.patient() != null || consult.patientId() == null) {
+            return CompletableFuture.completedFuture(consult.patient());
+        }
+        return loader.load(consult.patientId());
+    }
+
+    @SchemaMapping(typeName = "ConsultResponseDto")
+    public CompletableFuture<ProfessionalDataDto> professional(ConsultResponseDto consult, DataLoader<Long, ProfessionalDataDto> loader) {
+        if (consult.professional() != null || consult.professionalId() == null) {
+            return CompletableFuture.completedFuture(consult.professional());
+        }
+        return loader.load(consult.professionalId());
+    }
+
+    @SchemaMapping(typeName = "ConsultResponseDto")
+    public CompletableFuture<String> nameProfessional(ConsultResponseDto consult, DataLoader<Long, ProfessionalDataDto> loader) {
+        return professional(consult, loader)
+                .thenApply(professional -> professional != null ? professional.name() : null);
+    }
+}
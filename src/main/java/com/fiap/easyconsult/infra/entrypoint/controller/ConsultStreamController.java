@@ -0,0 +1,101 @@
+package com.fiap.easyconsult.infra.entrypoint.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.exception.DomainException;
+import com.fiap.easyconsult.core.inputport.ConsultQueryUseCase;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult;
+import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports consult lists of any size as a JSON array written while the rows are read.
+ *
+ * GraphQL builds the whole response before sending it, so large exports go through this
+ * endpoint instead: each row is mapped and serialized as it leaves the database cursor and
+ * the output is flushed periodically, keeping memory constant regardless of the row count.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/consults")
+public class ConsultStreamController {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ConsultQueryUseCase consultQueryUseCase;
+    private final ConsultMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    public ConsultStreamController(ConsultQueryUseCase consultQueryUseCase, ConsultMapper mapper,
+                                   Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.consultQueryUseCase = consultQueryUseCase;
+        this.mapper = mapper;
+        // Built from Boot's defaults (ISO dates, as in the GraphQL responses) rather than the Redis ObjectMapper bean
+        this.objectMapper = objectMapperBuilder.build();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro')")
+    public ResponseEntity<StreamingResponseBody> streamConsults(
+            @RequestParam(required = false) String patientEmail,
+            @RequestParam(required = false) String professionalEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) List<StatusConsult> statusIn) {
+        // Built before the response starts, so an invalid filter is still reported as 400
+        ConsultFilter filter = ConsultFilter.builder()
+                .patientEmail(patientEmail)
+                .professionalEmail(professionalEmail)
+                .dateFrom(dateFrom)
+                .dateTo(dateTo)
+                .statusIn(statusIn != null ? statusIn.stream().map(status -> ConsultStatus.valueOf(status.name())).toList() : null)
+                .build();
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                int[] written = {0};
+                generator.writeStartArray();
+                consultQueryUseCase.streamConsults(filter, consult -> {
+                    try {
+                        generator.writeObject(mapper.toConsultResponse(consult));
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (RuntimeException e) {
+                // The status line is already sent, so the client only sees a truncated array
+                log.error("Consult stream aborted", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<Map<String, String>> handleDomainException(DomainException ex) {
+        return ResponseEntity.badRequest().body(Map.of("code", ex.getCode(), "message", ex.getMessage()));
+    }
+}
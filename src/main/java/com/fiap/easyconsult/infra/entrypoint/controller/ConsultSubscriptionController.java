@@ -0,0 +1,31 @@
+package com.fiap.easyconsult.infra.entrypoint.controller;
+
+import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultFilterRequestDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.response.ConsultChangeEventDto;
+import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import com.fiap.easyconsult.infra.event.ConsultEventStream;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+@Controller
+public class ConsultSubscriptionController {
+
+    private final ConsultEventStream consultEventStream;
+    private final ConsultMapper mapper;
+
+    public ConsultSubscriptionController(ConsultEventStream consultEventStream, ConsultMapper mapper) {
+        this.consultEventStream = consultEventStream;
+        this.mapper = mapper;
+    }
+
+    @SubscriptionMapping
+    @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro') or (hasAuthority('SCOPE_paciente') and #input != null and #input.patientEmail == authentication.name)")
+    public Flux<ConsultChangeEventDto> consultChanged(@Argument("filter") ConsultFilterRequestDto input) {
+        var filter = input != null ? mapper.toConsultFilter(input) : null;
+        return consultEventStream.subscribe(consult -> filter == null || filter.matches(consult))
+                .map(event -> new ConsultChangeEventDto(event.type(), mapper.toConsultResponse(event.consult())));
+    }
+}
@@ -1,49 +1,109 @@
 package com.fiap.easyconsult.infra.entrypoint.controller;
 
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
 import com.fiap.easyconsult.core.inputport.ConsultCommandUseCase;
 import com.fiap.easyconsult.core.inputport.ConsultQueryUseCase;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.ConsultStatsGroupBy;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult;
 import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultFilterRequestDto;
 import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultRequestDto;
 import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultUpdateRequestDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.response.AvailableSlotDto;
 import com.fiap.easyconsult.infra.entrypoint.dto.response.ConsultResponseDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.response.ConsultStatsDto;
+import com.fiap.easyconsult.infra.config.QueryExecutorConfig;
 import com.fiap.easyconsult.infra.entrypoint.mapper.ConsultMapper;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Validated
 @Controller
 public class GraphqlController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final ConsultCommandUseCase consultCommandUseCase;
     private final ConsultQueryUseCase consultQueryUseCase;
     private final ConsultMapper mapper;
+    private final Executor queryExecutor;
 
 
-    public GraphqlController(ConsultCommandUseCase consultCommandUseCase, ConsultQueryUseCase consultQueryUseCase, ConsultMapper mapper) {
+    public GraphqlController(ConsultCommandUseCase consultCommandUseCase, ConsultQueryUseCase consultQueryUseCase, ConsultMapper mapper,
+                             @Qualifier(QueryExecutorConfig.QUERY_EXECUTOR) Executor queryExecutor) {
         this.consultCommandUseCase = consultCommandUseCase;
         this.consultQueryUseCase = consultQueryUseCase;
         this.mapper = mapper;
+        this.queryExecutor = queryExecutor;
     }
 
     @QueryMapping
-    @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro') or (hasAuthority('SCOPE_paciente') and #input.patientEmail == authentication.name)")
-    public List<ConsultResponseDto> getFilteredConsults(@Argument("filter")  @Valid ConsultFilterRequestDto input) {
-        var rep = consultQueryUseCase.findWithFilters(mapper.toConsultFilter(input));
-        return mapper.toConsultResponse(rep);
+    @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro') or (hasAuthority('SCOPE_paciente') and #input?.patientEmail == authentication.name)")
+    public CompletableFuture<Window<ConsultResponseDto>> getFilteredConsults(@Argument("filter")  @Valid ConsultFilterRequestDto input,
+                                                                             ScrollSubrange subrange,
+                                                                             DataFetchingFieldSelectionSet selectionSet) {
+        var filter = input != null ? mapper.toConsultFilter(input) : null;
+        var cursor = mapper.toConsultCursor(subrange);
+        var fields = mapper.toConsultFields(selectionSet);
+        int size = input != null && input.limit() != null ? Math.min(input.limit(), pageSize(subrange)) : pageSize(subrange);
+        return CompletableFuture.supplyAsync(() ->
+                mapper.toConsultWindow(consultQueryUseCase.findPage(filter, cursor, size, fields)), queryExecutor);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro')")
+    public CompletableFuture<Window<ConsultResponseDto>> getAllConsults(ScrollSubrange subrange, DataFetchingFieldSelectionSet selectionSet) {
+        var cursor = mapper.toConsultCursor(subrange);
+        var fields = mapper.toConsultFields(selectionSet);
+        return CompletableFuture.supplyAsync(() ->
+                mapper.toConsultWindow(consultQueryUseCase.findPage(null, cursor, pageSize(subrange), fields)), queryExecutor);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro')")
+    public CompletableFuture<Window<ConsultResponseDto>> searchConsults(@Argument("text") String text,
+                                                                        @Argument("filter") @Valid ConsultFilterRequestDto input,
+                                                                        ScrollSubrange subrange,
+                                                                        DataFetchingFieldSelectionSet selectionSet) {
+        var filter = input != null ? mapper.toConsultFilter(input) : null;
+        var cursor = mapper.toConsultCursor(subrange);
+        var fields = mapper.toConsultFields(selectionSet);
+        int size = input != null && input.limit() != null ? Math.min(input.limit(), pageSize(subrange)) : pageSize(subrange);
+        return CompletableFuture.supplyAsync(() ->
+                mapper.toConsultWindow(consultQueryUseCase.searchConsults(text, filter, cursor, size, fields)), queryExecutor);
     }
 
     @QueryMapping
     @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro')")
-    public List<ConsultResponseDto> getAllConsults() {
-        var rep = consultQueryUseCase.findAll();
-        return rep.stream().map(mapper::toConsultResponse).toList();
+    public CompletableFuture<List<ConsultStatsDto>> consultStats(@Argument("filter") @Valid ConsultFilterRequestDto input,
+                                                                 @Argument("groupBy") List<ConsultStatsGroupBy> groupBy) {
+        var filter = input != null ? mapper.toConsultFilter(input) : null;
+        var groups = mapper.toConsultStatsGroups(groupBy);
+        return CompletableFuture.supplyAsync(() ->
+                mapper.toConsultStatsResponse(consultQueryUseCase.countConsults(filter, groups)), queryExecutor);
+    }
+
+    @QueryMapping
+    @PreAuthorize("hasAnyAuthority('SCOPE_medico','SCOPE_enfermeiro','SCOPE_paciente')")
+    public CompletableFuture<List<AvailableSlotDto>> availableSlots(@Argument("professionalEmail") String professionalEmail,
+                                                                    @Argument("from") LocalDate from,
+                                                                    @Argument("to") LocalDate to,
+                                                                    @Argument("slotMinutes") int slotMinutes) {
+        return CompletableFuture.supplyAsync(() ->
+                mapper.toAvailableSlotResponse(consultQueryUseCase.findAvailableSlots(professionalEmail, from, to, slotMinutes)), queryExecutor);
     }
 
     @MutationMapping
@@ -62,10 +122,22 @@ public class GraphqlController {
         return mapper.toConsultResponse(consultResponse);
     }
 
+    @MutationMapping
+    @PreAuthorize("hasAnyAuthority('SCOPE_medico')")
+    public List<ConsultResponseDto> bulkUpdateStatus(@Argument("filter") @Valid ConsultFilterRequestDto filter,
+                                                     @Argument("status") StatusConsult status) {
+        var updated = consultCommandUseCase.updateStatus(mapper.toConsultFilter(filter), ConsultStatus.valueOf(status.name()));
+        return mapper.toConsultResponse(updated);
+    }
+
     @MutationMapping
     @PreAuthorize("hasAnyAuthority('SCOPE_medico')")
     public Boolean deleteConsult(@Argument("id") Long id) {
         consultCommandUseCase.deleteConsult(id);
         return true;
     }
+
+    private int pageSize(ScrollSubrange subrange) {
+        return subrange.count().orElse(DEFAULT_PAGE_SIZE);
+    }
 }
@@ -0,0 +1,8 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.enums;
+
+public enum ConsultOrderField {
+    DATE,
+    TIME,
+    STATUS,
+    PROFESSIONAL
+}
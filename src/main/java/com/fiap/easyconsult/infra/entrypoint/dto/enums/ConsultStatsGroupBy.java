@@ -0,0 +1,7 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.enums;
+
+public enum ConsultStatsGroupBy {
+    STATUS,
+    DATE,
+    PROFESSIONAL
+}
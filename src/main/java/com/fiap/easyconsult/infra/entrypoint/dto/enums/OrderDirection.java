@@ -0,0 +1,6 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.enums;
+
+public enum OrderDirection {
+    ASC,
+    DESC
+}
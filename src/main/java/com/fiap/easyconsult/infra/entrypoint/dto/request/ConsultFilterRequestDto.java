@@ -1,14 +1,31 @@
 package com.fiap.easyconsult.infra.entrypoint.dto.request;
 
+import com.fiap.easyconsult.core.usecase.ConsultQueryUseCases;
 import com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
+/**
+ * Range bounds are inclusive and {@code statusIn} matches any of the listed statuses.
+ * {@code orderBy} and {@code limit} only apply to reads; {@code limit} caps the page size.
+ */
 public record ConsultFilterRequestDto(
         String patientEmail,
         String professionalEmail,
         LocalDate date,
         LocalTime localTime,
-        StatusConsult status
-) {}
\ No newline at end of file
+        StatusConsult status,
+        LocalDate dateFrom,
+        LocalDate dateTo,
+        List<StatusConsult> statusIn,
+        LocalTime timeFrom,
+        LocalTime timeTo,
+        List<@Valid ConsultOrderRequestDto> orderBy,
+        @Min(1) @Max(ConsultQueryUseCases.MAX_PAGE_SIZE)
+        Integer limit
+) {}
@@ -0,0 +1,11 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.request;
+
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.ConsultOrderField;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.OrderDirection;
+import jakarta.validation.constraints.NotNull;
+
+public record ConsultOrderRequestDto(
+        @NotNull
+        ConsultOrderField field,
+        OrderDirection direction
+) {}
@@ -0,0 +1,10 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record AvailableSlotDto(
+        LocalDate date,
+        LocalTime start,
+        LocalTime end
+) {}
@@ -0,0 +1,8 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.response;
+
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+
+public record ConsultChangeEventDto(
+        ConsultChangeType type,
+        ConsultResponseDto consult
+) {}
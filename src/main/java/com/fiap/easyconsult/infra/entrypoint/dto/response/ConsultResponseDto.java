@@ -1,17 +1,24 @@
 package com.fiap.easyconsult.infra.entrypoint.dto.response;
 
 import com.fiap.easyconsult.infra.entrypoint.dto.data.PatientDataDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.data.ProfessionalDataDto;
 import com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+/**
+ * {@code patient} and {@code professional} are null when the consult was read without them;
+ * the GraphQL layer then resolves them in batch from {@code patientId} and {@code professionalId}.
+ */
 public record ConsultResponseDto(
         Long id,
+        Long patientId,
         PatientDataDto patient,
-        String nameProfessional,
+        Long professionalId,
+        ProfessionalDataDto professional,
         LocalTime localTime,
         LocalDate date,
         StatusConsult statusConsult,
         String reason
-) {}
\ No newline at end of file
+) {}
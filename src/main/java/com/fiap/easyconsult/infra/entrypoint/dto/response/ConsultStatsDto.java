@@ -0,0 +1,16 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.response;
+
+import com.fiap.easyconsult.infra.entrypoint.dto.data.ProfessionalDataDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult;
+
+import java.time.LocalDate;
+
+/**
+ * Count of one group; fields of dimensions that were not grouped by are null.
+ */
+public record ConsultStatsDto(
+        StatusConsult status,
+        LocalDate date,
+        ProfessionalDataDto professional,
+        long count
+) {}
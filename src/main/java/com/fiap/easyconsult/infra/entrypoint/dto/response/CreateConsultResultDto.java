@@ -0,0 +1,9 @@
+package com.fiap.easyconsult.infra.entrypoint.dto.response;
+
+public record CreateConsultResultDto(
+        int index,
+        boolean success,
+        ConsultResponseDto consult,
+        String code,
+        String message
+) {}
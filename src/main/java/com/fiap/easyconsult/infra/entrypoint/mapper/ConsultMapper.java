@@ -1,23 +1,51 @@
 package com.fiap.easyconsult.infra.entrypoint.mapper;
 
+import com.fiap.easyconsult.core.domain.model.AvailableSlot;
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.ConsultPage;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
 import com.fiap.easyconsult.core.domain.model.Patient;
 import com.fiap.easyconsult.core.domain.model.Professional;
 import com.fiap.easyconsult.core.domain.model.UpdateConsult;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultDateTime;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultOrder;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultSortField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatsGroup;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
 import com.fiap.easyconsult.infra.entrypoint.dto.data.PatientDataDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.data.ProfessionalDataDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.ConsultStatsGroupBy;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.OrderDirection;
+import com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult;
 import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultFilterRequestDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultOrderRequestDto;
 import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultRequestDto;
 import com.fiap.easyconsult.infra.entrypoint.dto.request.ConsultUpdateRequestDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.response.AvailableSlotDto;
 import com.fiap.easyconsult.infra.entrypoint.dto.response.ConsultResponseDto;
+import com.fiap.easyconsult.infra.entrypoint.dto.response.ConsultStatsDto;
 import com.fiap.easyconsult.infra.persistence.entity.ConsultEntity;
 import com.fiap.easyconsult.infra.persistence.entity.PatientEntity;
 import com.fiap.easyconsult.infra.persistence.entity.ProfessionalEntity;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult.SCHEDULED;
 import static com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult.valueOf;
@@ -25,6 +53,14 @@ import static com.fiap.easyconsult.infra.entrypoint.dto.enums.StatusConsult.valu
 @Component
 public class ConsultMapper {
 
+    private static final String CURSOR_DATE = "localDate";
+    private static final String CURSOR_TIME = "localTime";
+    private static final String CURSOR_ID = "id";
+    private static final String CURSOR_STATUS = "status";
+    private static final String CURSOR_PROFESSIONAL = "professional";
+    private static final String CURSOR_RANK = "rank";
+    private static final String NODE = "edges/node/";
+
     public Consult toConsult(ConsultRequestDto request) {
         var dateTime = ConsultDateTime.of(request.date(), request.localTime());
         dateTime.validateFutureDateTime();
@@ -42,10 +78,13 @@ public class ConsultMapper {
                 .reason(request.reason()).build();
     }
 
-    public ConsultEntity toConsultEntity(Consult consult){
-        var patientEntity = new PatientEntity(null, consult.getPatient().getName(), consult.getPatient().getEmail());
+    /**
+     * New consult row referencing participants already registered under the given ids.
+     */
+    public ConsultEntity toConsultEntity(Consult consult, Long patientId, Long professionalId){
+        var patientEntity = new PatientEntity(patientId, consult.getPatient().getName(), consult.getPatient().getEmail());
         var professionalEntity = new ProfessionalEntity(
-                null,
+                professionalId,
                 consult.getProfessional().getName(),
                 consult.getProfessional().getEmail());
 
@@ -61,35 +100,103 @@ public class ConsultMapper {
     }
 
     public Consult toConsult(ConsultEntity entity){
-        var patient = new Patient.Builder()
-                .id(entity.getId())
-                .name(entity.getPatient().getName())
-                .email(entity.getPatient().getEmail())
-                .build();
-        var professional = new Professional.Builder()
-                .id(entity.getId())
-                .name(entity.getProfessional().getName())
-                .email(entity.getProfessional().getEmail())
-                .build();
         return new Consult.Builder()
                 .id(entity.getId())
                 .dateTime(entity.getLocalDate(), entity.getLocalTime())
-                .patient(patient)
-                .professional(professional)
+                .patient(toPatient(entity.getPatient()))
+                .professional(toProfessional(entity.getProfessional()))
                 .reason(entity.getReason())
                 .status(ConsultStatus.valueOf(entity.getStatus()))
                 .build();
     }
 
+    public Consult toConsultProjection(Tuple row, Set<ConsultField> fields) {
+        var builder = new Consult.Builder()
+                .id(row.get("id", Long.class))
+                .dateTime(row.get("localDate", LocalDate.class), row.get("localTime", LocalTime.class));
+        if (fields.contains(ConsultField.REASON)) {
+            builder.reason(row.get("reason", String.class));
+        }
+        if (fields.contains(ConsultField.STATUS)) {
+            builder.status(ConsultStatus.valueOf(row.get("status", String.class)));
+        }
+        if (fields.contains(ConsultField.PATIENT)) {
+            builder.patient(Patient.reference(row.get("patientId", Long.class)));
+        }
+        if (fields.contains(ConsultField.PROFESSIONAL)) {
+            builder.professional(Professional.reference(row.get("professionalId", Long.class)));
+        }
+        return builder.buildPartial();
+    }
+
+    public Set<ConsultField> toConsultFields(DataFetchingFieldSelectionSet selectionSet) {
+        if (selectionSet == null) {
+            return ConsultField.all();
+        }
+        Set<ConsultField> fields = EnumSet.noneOf(ConsultField.class);
+        if (selectionSet.contains(NODE + "reason")) {
+            fields.add(ConsultField.REASON);
+        }
+        if (selectionSet.contains(NODE + "statusConsult")) {
+            fields.add(ConsultField.STATUS);
+        }
+        if (selectionSet.contains(NODE + "patient")) {
+            fields.add(ConsultField.PATIENT);
+        }
+        if (selectionSet.containsAnyOf(NODE + "professional", NODE + "nameProfessional")) {
+            fields.add(ConsultField.PROFESSIONAL);
+        }
+        return fields;
+    }
+
+    public Patient toPatient(PatientEntity entity) {
+        return new Patient.Builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .email(entity.getEmail())
+                .build();
+    }
+
+    public Professional toProfessional(ProfessionalEntity entity) {
+        return new Professional.Builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .email(entity.getEmail())
+                .build();
+    }
+
     public ConsultFilter toConsultFilter(ConsultFilterRequestDto request) {
-        return new ConsultFilter(
-                null,
-                request.patientEmail(),
-                request.professionalEmail(),
-                request.status() != null ? ConsultStatus.valueOf(request.status().name()) : null,
-                request.localTime(),
-                request.date()
-        );
+        return ConsultFilter.builder()
+                .patientEmail(request.patientEmail())
+                .professionalEmail(request.professionalEmail())
+                .status(request.status() != null ? ConsultStatus.valueOf(request.status().name()) : null)
+                .localTime(request.localTime())
+                .date(request.date())
+                .dateFrom(request.dateFrom())
+                .dateTo(request.dateTo())
+                .statusIn(toConsultStatuses(request.statusIn()))
+                .timeFrom(request.timeFrom())
+                .timeTo(request.timeTo())
+                .orderBy(toConsultOrders(request.orderBy()))
+                .build();
+    }
+
+    private List<ConsultStatus> toConsultStatuses(List<StatusConsult> statuses) {
+        if (statuses == null) {
+            return List.of();
+        }
+        return statuses.stream().map(status -> ConsultStatus.valueOf(status.name())).toList();
+    }
+
+    public List<ConsultOrder> toConsultOrders(List<ConsultOrderRequestDto> orderBy) {
+        if (orderBy == null) {
+            return List.of();
+        }
+        return orderBy.stream()
+                .map(order -> new ConsultOrder(
+                        ConsultSortField.valueOf(order.field().name()),
+                        order.direction() == OrderDirection.DESC))
+                .toList();
     }
 
     public List<ConsultResponseDto> toConsultResponse(List<Consult> consults) {
@@ -98,19 +205,55 @@ public class ConsultMapper {
 
 
     public ConsultResponseDto toConsultResponse(Consult consult) {
+        Patient patient = consult.getPatient();
+        Professional professional = consult.getProfessional();
         return new ConsultResponseDto(
                 consult.getId().getValue(),
-                new PatientDataDto(
-                        consult.getPatient().getName(),
-                        consult.getPatient().getEmail()),
-                consult.getProfessional().getName(),
+                patient != null ? patient.getId() : null,
+                patient != null && !patient.isReference() ? toPatientData(patient) : null,
+                professional != null ? professional.getId() : null,
+                professional != null && !professional.isReference() ? toProfessionalData(professional) : null,
                 consult.getTime(),
                 consult.getDate(),
-                valueOf(consult.getStatus().name()),
+                consult.getStatus() != null ? valueOf(consult.getStatus().name()) : null,
                 consult.getReason()
         );
     }
 
+    public PatientDataDto toPatientData(Patient patient) {
+        return new PatientDataDto(patient.getName(), patient.getEmail());
+    }
+
+    public ProfessionalDataDto toProfessionalData(Professional professional) {
+        return new ProfessionalDataDto(professional.getName(), professional.getEmail());
+    }
+
+    public Set<ConsultStatsGroup> toConsultStatsGroups(List<ConsultStatsGroupBy> groupBy) {
+        Set<ConsultStatsGroup> groups = EnumSet.noneOf(ConsultStatsGroup.class);
+        if (groupBy != null) {
+            groupBy.forEach(group -> groups.add(ConsultStatsGroup.valueOf(group.name())));
+        }
+        return groups;
+    }
+
+    public List<ConsultStatsDto> toConsultStatsResponse(List<ConsultStats> stats) {
+        return stats.stream()
+                .map(group -> new ConsultStatsDto(
+                        group.status() != null ? valueOf(group.status().name()) : null,
+                        group.date(),
+                        group.professionalEmail() != null
+                                ? new ProfessionalDataDto(group.professionalName(), group.professionalEmail())
+                                : null,
+                        group.count()))
+                .toList();
+    }
+
+    public List<AvailableSlotDto> toAvailableSlotResponse(List<AvailableSlot> slots) {
+        return slots.stream()
+                .map(slot -> new AvailableSlotDto(slot.date(), slot.start(), slot.end()))
+                .toList();
+    }
+
     public UpdateConsult toUpdateConsult(ConsultUpdateRequestDto request) {
         var builder = UpdateConsult.builder()
                 .id(request.id());
@@ -130,4 +273,58 @@ public class ConsultMapper {
 
         return builder.build();
     }
-}
\ No newline at end of file
+
+    public Window<ConsultResponseDto> toConsultWindow(ConsultPage page) {
+        List<Consult> consults = page.getConsults();
+        return Window.from(
+                consults.stream().map(this::toConsultResponse).toList(),
+                index -> toScrollPosition(page.getCursor(index)),
+                page.hasNextPage());
+    }
+
+    public ConsultCursor toConsultCursor(ScrollSubrange subrange) {
+        ScrollPosition position = subrange.position().orElse(null);
+        if (position == null || position.isInitial()) {
+            return null;
+        }
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Invalid cursor: only keyset cursors are supported");
+        }
+        try {
+            Map<String, Object> keys = keyset.getKeys();
+            if (keys.containsKey(CURSOR_RANK)) {
+                return ConsultCursor.ranked(
+                        LocalDate.parse(String.valueOf(keys.get(CURSOR_DATE))),
+                        LocalTime.parse(String.valueOf(keys.get(CURSOR_TIME))),
+                        Long.valueOf(String.valueOf(keys.get(CURSOR_ID))),
+                        new BigDecimal(String.valueOf(keys.get(CURSOR_RANK))));
+            }
+            return ConsultCursor.of(
+                    LocalDate.parse(String.valueOf(keys.get(CURSOR_DATE))),
+                    LocalTime.parse(String.valueOf(keys.get(CURSOR_TIME))),
+                    Long.valueOf(String.valueOf(keys.get(CURSOR_ID))),
+                    (String) keys.get(CURSOR_STATUS),
+                    (String) keys.get(CURSOR_PROFESSIONAL));
+        } catch (RuntimeException e) {
+            // The handler reports the root cause, so the parse failure is not chained
+            throw new IllegalArgumentException("Invalid cursor: " + keyset.getKeys());
+        }
+    }
+
+    private ScrollPosition toScrollPosition(ConsultCursor cursor) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(CURSOR_DATE, cursor.getDate().toString());
+        keys.put(CURSOR_TIME, cursor.getTime().toString());
+        keys.put(CURSOR_ID, cursor.getId().toString());
+        if (cursor.getStatus() != null) {
+            keys.put(CURSOR_STATUS, cursor.getStatus());
+        }
+        if (cursor.getProfessionalName() != null) {
+            keys.put(CURSOR_PROFESSIONAL, cursor.getProfessionalName());
+        }
+        if (cursor.getRank() != null) {
+            keys.put(CURSOR_RANK, cursor.getRank().toPlainString());
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
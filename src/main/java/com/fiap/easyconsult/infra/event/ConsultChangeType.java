@@ -0,0 +1,7 @@
+package com.fiap.easyconsult.infra.event;
+
+public enum ConsultChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
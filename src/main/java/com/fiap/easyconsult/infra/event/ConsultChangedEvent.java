@@ -0,0 +1,8 @@
+package com.fiap.easyconsult.infra.event;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+
+public record ConsultChangedEvent(
+        ConsultChangeType type,
+        Consult consult
+) {}
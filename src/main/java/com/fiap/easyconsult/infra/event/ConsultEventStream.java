@@ -0,0 +1,49 @@
+package com.fiap.easyconsult.infra.event;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Fans consult changes out to GraphQL subscribers.
+ *
+ * Events are emitted only after the surrounding transaction commits. The sink is
+ * best-effort: a subscriber without demand simply misses the event instead of
+ * holding back the others, and each subscriber has its own bounded buffer that
+ * drops the oldest events when it falls behind.
+ */
+@Slf4j
+@Component
+public class ConsultEventStream {
+
+    private final Sinks.Many<ConsultChangedEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int subscriberBufferSize;
+
+    public ConsultEventStream(@Value("${app.subscriptions.buffer-size:256}") int subscriberBufferSize) {
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConsultChanged(ConsultChangedEvent event) {
+        log.debug("Broadcasting {} event for consult {}", event.type(), event.consult().getId());
+        // Concurrent emitters are serialized by retrying briefly instead of failing
+        sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    public Flux<ConsultChangedEvent> subscribe(Predicate<Consult> filter) {
+        return sink.asFlux()
+                .filter(event -> filter.test(event.consult()))
+                .onBackpressureBuffer(subscriberBufferSize,
+                        dropped -> log.warn("Slow subscriber dropped {} event for consult {}",
+                                dropped.type(), dropped.consult().getId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 
@@ -88,6 +89,32 @@ public class KafkaMessageService {
         }
     }
 
+    public void publishConsultEvents(List<Consult> consults) {
+        try {
+            log.info("📤 Publicando lote de {} consultas no Kafka", consults.size());
+
+            // Os envios são assíncronos, então o producer agrupa os registros do lote
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[consults.size()];
+            for (int i = 0; i < consults.size(); i++) {
+                Consult consult = consults.get(i);
+                String jsonMessage = objectMapper.writeValueAsString(buildConsultMessage(consult));
+                futures[i] = kafkaTemplate.send(consultTopic, consult.getId().getValue().toString(), jsonMessage);
+            }
+
+            CompletableFuture.allOf(futures).whenComplete((result, exception) -> {
+                if (exception == null) {
+                    log.info("✅ Lote de {} consultas publicado com sucesso no Kafka", consults.size());
+                } else {
+                    log.error("❌ Erro ao publicar lote de consultas no Kafka", exception);
+                }
+            });
+
+        } catch (Exception e) {
+            log.error("❌ Erro inesperado ao publicar lote de consultas no Kafka", e);
+            throw new KafkaException("Falha ao publicar lote de consultas no Kafka", e);
+        }
+    }
+
     private ConsultKafkaMessage buildConsultMessage(Consult consult) {
         return new ConsultKafkaMessage(
             consult.getId().getValue().toString(),
@@ -12,14 +12,15 @@ import java.time.LocalTime;
 public class ConsultEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consults_seq")
+    @SequenceGenerator(name = "consults_seq", sequenceName = "consults_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne
     @JoinColumn(name = "patient" , referencedColumnName = "id" )
     private PatientEntity patient;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne
     @JoinColumn(name = "professional" , referencedColumnName = "id" )
     private ProfessionalEntity professional;
 
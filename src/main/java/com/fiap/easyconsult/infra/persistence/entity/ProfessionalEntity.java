@@ -9,7 +9,8 @@ import lombok.Data;
 public class ProfessionalEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "professional_seq")
+    @SequenceGenerator(name = "professional_seq", sequenceName = "professional_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String email;
@@ -2,22 +2,25 @@ package com.fiap.easyconsult.infra.persistence.repository;
 
 import com.fiap.easyconsult.infra.persistence.entity.ConsultEntity;
 import io.lettuce.core.dynamic.annotation.Param;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ConsultRepository extends JpaRepository<ConsultEntity, Long> {
 
-    @EntityGraph(attributePaths = {"patient", "professional"})
-    @Query("SELECT c FROM ConsultEntity c")
-    List<ConsultEntity> findAllWithDetails();
-
-
     @Query("SELECT c FROM ConsultEntity c WHERE c.patient.email = :email")
     List<ConsultEntity> findAllByPatientEmail(@Param("email") String email);
 
+    @Query("SELECT c FROM ConsultEntity c JOIN FETCH c.patient p JOIN FETCH c.professional r"
+            + " WHERE c.status <> 'CANCELLED' AND c.localDate IN :dates"
+            + " AND (p.email IN :patientEmails OR r.email IN :professionalEmails)")
+    List<ConsultEntity> findActiveByParticipantsAndDates(@Param("patientEmails") Collection<String> patientEmails,
+                                                         @Param("professionalEmails") Collection<String> professionalEmails,
+                                                         @Param("dates") Collection<LocalDate> dates);
+
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.fiap.easyconsult.infra.persistence.repository;
+
+import com.fiap.easyconsult.infra.persistence.entity.PatientEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PatientRepository extends JpaRepository<PatientEntity, Long> {
+}
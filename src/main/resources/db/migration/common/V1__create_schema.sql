@@ -0,0 +1,24 @@
+-- Schema as previously created by hibernate.ddl-auto=update; existing databases are baselined at this version
+CREATE TABLE patient (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name  VARCHAR(255),
+    email VARCHAR(255)
+);
+
+CREATE TABLE professional (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name  VARCHAR(255),
+    email VARCHAR(255)
+);
+
+CREATE TABLE consults (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient      BIGINT,
+    professional BIGINT,
+    local_time   TIME,
+    local_date   DATE,
+    reason       VARCHAR(255),
+    status       VARCHAR(255),
+    CONSTRAINT fk_consults_patient FOREIGN KEY (patient) REFERENCES patient (id),
+    CONSTRAINT fk_consults_professional FOREIGN KEY (professional) REFERENCES professional (id)
+);
@@ -0,0 +1,3 @@
+-- Every filter by patientEmail/professionalEmail joins the participant table on its email
+CREATE INDEX IF NOT EXISTS idx_patient_email ON patient (email);
+CREATE INDEX IF NOT EXISTS idx_professional_email ON professional (email);
@@ -0,0 +1,21 @@
+-- Every booking used to insert its own patient and professional rows. Each email keeps its oldest
+-- row, consults are repointed to it and the duplicates are removed before emails become unique.
+UPDATE consults c
+SET patient = (SELECT MIN(k.id) FROM patient k WHERE k.email = (SELECT p.email FROM patient p WHERE p.id = c.patient))
+WHERE EXISTS (SELECT 1 FROM patient p JOIN patient k ON k.email = p.email AND k.id < p.id WHERE p.id = c.patient);
+
+DELETE FROM patient p
+WHERE EXISTS (SELECT 1 FROM patient k WHERE k.email = p.email AND k.id < p.id);
+
+UPDATE consults c
+SET professional = (SELECT MIN(k.id) FROM professional k WHERE k.email = (SELECT p.email FROM professional p WHERE p.id = c.professional))
+WHERE EXISTS (SELECT 1 FROM professional p JOIN professional k ON k.email = p.email AND k.id < p.id WHERE p.id = c.professional);
+
+DELETE FROM professional p
+WHERE EXISTS (SELECT 1 FROM professional k WHERE k.email = p.email AND k.id < p.id);
+
+-- Unique indexes replace the plain ones from V2 and back the ON CONFLICT (email) upserts
+DROP INDEX IF EXISTS idx_patient_email;
+DROP INDEX IF EXISTS idx_professional_email;
+CREATE UNIQUE INDEX uk_patient_email ON patient (email);
+CREATE UNIQUE INDEX uk_professional_email ON professional (email);
@@ -0,0 +1,6 @@
+-- Keyset and participant indexes of the consult listings. Kept out of V1: databases created by
+-- ddl-auto=update are baselined at V1 and would never get them
+CREATE INDEX IF NOT EXISTS idx_consults_date_time_id ON consults (local_date, local_time, id);
+CREATE INDEX IF NOT EXISTS idx_consults_status_date_time_id ON consults (status, local_date, local_time, id);
+CREATE INDEX IF NOT EXISTS idx_consults_professional_date_time ON consults (professional, local_date, local_time);
+CREATE INDEX IF NOT EXISTS idx_consults_patient_date_time ON consults (patient, local_date, local_time);
@@ -0,0 +1,17 @@
+-- Same rule as postgresql/V5. H2 has no partial indexes: cancelled consults get a NULL active_slot,
+-- and NULLs never collide in a unique index. H2 cannot raise an error either, so a conflict fails
+-- the cast of the message that lists them.
+SELECT CAST('Active consults share a patient or professional slot: '
+            || LISTAGG(c.id || ' (slot of ' || k.id || ')', ', ') WITHIN GROUP (ORDER BY c.id, k.id) AS INT)
+FROM consults c
+JOIN consults k ON k.id < c.id
+    AND k.local_date = c.local_date AND k.local_time = c.local_time
+    AND (k.patient = c.patient OR k.professional = c.professional)
+WHERE c.status <> 'CANCELLED' AND k.status <> 'CANCELLED'
+HAVING COUNT(*) > 0;
+
+ALTER TABLE consults ADD COLUMN active_slot BOOLEAN
+    GENERATED ALWAYS AS (CASE WHEN status <> 'CANCELLED' THEN TRUE END);
+
+CREATE UNIQUE INDEX uk_consults_patient_slot ON consults (patient, local_date, local_time, active_slot);
+CREATE UNIQUE INDEX uk_consults_professional_slot ON consults (professional, local_date, local_time, active_slot);
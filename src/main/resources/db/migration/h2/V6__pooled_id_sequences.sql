@@ -0,0 +1,16 @@
+-- Same sequences as postgresql/V6, each restarted above the ids already in use
+
+CREATE SEQUENCE patient_seq INCREMENT BY 50;
+ALTER SEQUENCE patient_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM patient);
+ALTER TABLE patient ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE patient ALTER COLUMN id SET DEFAULT NEXT VALUE FOR patient_seq;
+
+CREATE SEQUENCE professional_seq INCREMENT BY 50;
+ALTER SEQUENCE professional_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM professional);
+ALTER TABLE professional ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE professional ALTER COLUMN id SET DEFAULT NEXT VALUE FOR professional_seq;
+
+CREATE SEQUENCE consults_seq INCREMENT BY 50;
+ALTER SEQUENCE consults_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM consults);
+ALTER TABLE consults ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE consults ALTER COLUMN id SET DEFAULT NEXT VALUE FOR consults_seq;
@@ -0,0 +1,8 @@
+-- Full-text search over the reason (ConsultTextSearch), previously created at startup
+ALTER TABLE consults ADD COLUMN IF NOT EXISTS reason_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('portuguese', coalesce(reason, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_consults_reason_tsv ON consults USING GIN (reason_tsv);
+
+-- Agenda of a professional without cancelled consults (availableSlots occupancy)
+CREATE INDEX IF NOT EXISTS idx_consults_professional_active ON consults (professional, local_date, local_time)
+    WHERE status <> 'CANCELLED';
@@ -0,0 +1,28 @@
+-- Conflicts used to be checked in Java only, and only for the patient. Active consults sharing a slot
+-- with an earlier one of the same patient or professional would break the unique indexes below; the
+-- migration stops and lists them, so they are cancelled or rescheduled on purpose before it reruns.
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(c.id || ' (slot of ' || k.id || ')', ', ' ORDER BY c.id, k.id) INTO conflicts
+    FROM consults c
+    JOIN consults k ON k.id < c.id
+        AND k.local_date = c.local_date AND k.local_time = c.local_time
+        AND (k.patient = c.patient OR k.professional = c.professional)
+    WHERE c.status <> 'CANCELLED' AND k.status <> 'CANCELLED';
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Active consults share a patient or professional slot: %', conflicts
+            USING HINT = 'Cancel or reschedule the later consults, then run the migration again';
+    END IF;
+END $$;
+
+-- A patient or professional holds at most one active consult per date and time; cancelled consults free the slot
+CREATE UNIQUE INDEX uk_consults_patient_slot ON consults (patient, local_date, local_time)
+    WHERE status <> 'CANCELLED';
+CREATE UNIQUE INDEX uk_consults_professional_slot ON consults (professional, local_date, local_time)
+    WHERE status <> 'CANCELLED';
+
+-- Same columns and predicate as uk_consults_professional_slot
+DROP INDEX IF EXISTS idx_consults_professional_active;
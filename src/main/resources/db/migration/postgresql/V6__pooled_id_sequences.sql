@@ -0,0 +1,19 @@
+-- Ids come from sequences instead of identity columns, so Hibernate can reserve a block of ids with
+-- one call and batch the inserts. INCREMENT BY must match allocationSize on the entities: the pooled
+-- optimizer reads each value as the top of a block of 50. Rows inserted through plain SQL still get
+-- an id from the column default; it is the top of its own block, so it never meets a Hibernate id.
+
+ALTER TABLE patient ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE patient_seq INCREMENT BY 50 OWNED BY patient.id;
+SELECT setval('patient_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM patient), false);
+ALTER TABLE patient ALTER COLUMN id SET DEFAULT nextval('patient_seq');
+
+ALTER TABLE professional ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE professional_seq INCREMENT BY 50 OWNED BY professional.id;
+SELECT setval('professional_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM professional), false);
+ALTER TABLE professional ALTER COLUMN id SET DEFAULT nextval('professional_seq');
+
+ALTER TABLE consults ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE consults_seq INCREMENT BY 50 OWNED BY consults.id;
+SELECT setval('consults_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM consults), false);
+ALTER TABLE consults ALTER COLUMN id SET DEFAULT nextval('consults_seq');
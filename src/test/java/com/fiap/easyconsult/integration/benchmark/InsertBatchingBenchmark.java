@@ -0,0 +1,228 @@
+package com.fiap.easyconsult.integration.benchmark;
+
+import com.fiap.easyconsult.EasyconsultMain;
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.outputport.SaveGateway;
+import com.fiap.easyconsult.infra.adapter.gateway.ParticipantRegistry;
+import com.fiap.easyconsult.infra.persistence.entity.ConsultEntity;
+import com.fiap.easyconsult.infra.persistence.entity.PatientEntity;
+import com.fiap.easyconsult.infra.persistence.entity.ProfessionalEntity;
+import com.fiap.easyconsult.infra.persistence.repository.ConsultRepository;
+import com.fiap.easyconsult.integration.config.TestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares inserting consults one statement per row, as {@code GenerationType.IDENTITY} forced, with
+ * the JDBC batches that pooled sequence ids allow, for the bulk creation and import paths.
+ *
+ * The in-memory database answers in microseconds, so every statement sent to it waits a fixed time
+ * to stand in for the network round trip. Not part of the regular build; run it explicitly:
+ *
+ * <pre>
+ * mvn test -Dtest=InsertBatchingBenchmark -Dbenchmark.rows=5000 -Dbenchmark.round-trip-us=300
+ * </pre>
+ */
+@DisplayName("Insert Batching Benchmark")
+class InsertBatchingBenchmark {
+
+    private static final int BULK_ROWS = Integer.getInteger("benchmark.bulk-rows", 500);
+    private static final int IMPORT_ROWS = Integer.getInteger("benchmark.rows", 5000);
+    private static final long ROUND_TRIP_US = Long.getLong("benchmark.round-trip-us", 300);
+    private static final int PROFESSIONALS = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+
+    @Test
+    @DisplayName("Row by row vs JDBC batches")
+    void compareRowByRowAndBatchedInserts() {
+        List<Result> rowByRow = run("row-by-row", 1);
+        List<Result> batched = run("batched", 50);
+
+        System.out.printf("%n%-12s %-8s %8s %12s %10s %12s%n", "inserts", "path", "rows", "round trips", "ms", "rows/s");
+        for (Result result : concat(rowByRow, batched)) {
+            System.out.printf("%-12s %-8s %8d %12d %10.1f %12.1f%n", result.mode(), result.path(), result.rows(),
+                    result.roundTrips(), result.millis(), result.rows() / (result.millis() / 1000));
+        }
+
+        for (int i = 0; i < batched.size(); i++) {
+            assertThat(batched.get(i).roundTrips()).isLessThan(rowByRow.get(i).roundTrips());
+        }
+    }
+
+    private List<Result> run(String mode, int batchSize) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                EasyconsultMain.class, TestConfig.class, SimulatedRoundTripConfig.class)
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.com.fiap.easyconsult=WARN",
+                        "--logging.level.org.hibernate.engine.jdbc=ERROR")) {
+
+            SaveGateway saveGateway = context.getBean(SaveGateway.class);
+            ConsultRepository repository = context.getBean(ConsultRepository.class);
+            ParticipantRegistry participantRegistry = context.getBean(ParticipantRegistry.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+            // Warm-up on its own day, so the measured rows never meet its slots
+            saveGateway.saveAll(consults(0, BULK_ROWS));
+
+            Result bulk = measure(mode, "bulk", BULK_ROWS, () -> {
+                List<ConsultCreationResult> results = saveGateway.saveAll(consults(1, BULK_ROWS));
+                assertThat(results).allMatch(ConsultCreationResult::isSuccess);
+            });
+
+            Map<String, Long> patientIds = participantRegistry.patientIds(names(IMPORT_ROWS, i -> "import" + i + "@bench.com"));
+            Map<String, Long> professionalIds = participantRegistry.professionalIds(names(PROFESSIONALS, i -> "dr" + i + "@bench.com"));
+            Result imported = measure(mode, "import", IMPORT_ROWS, () -> transactionTemplate.executeWithoutResult(status -> {
+                List<ConsultEntity> entities = new ArrayList<>(IMPORT_ROWS);
+                for (int i = 0; i < IMPORT_ROWS; i++) {
+                    ConsultEntity entity = new ConsultEntity();
+                    entity.setPatient(new PatientEntity(patientIds.get("import" + i + "@bench.com"), null, null));
+                    entity.setProfessional(new ProfessionalEntity(professionalIds.get("dr" + i % PROFESSIONALS + "@bench.com"), null, null));
+                    entity.setLocalDate(FIRST_DAY.plusDays(2));
+                    entity.setLocalTime(LocalTime.ofSecondOfDay(i * 15L));
+                    entity.setReason("Importada");
+                    entity.setStatus("SCHEDULED");
+                    entities.add(entity);
+                }
+                repository.saveAll(entities);
+            }));
+
+            return List.of(bulk, imported);
+        }
+    }
+
+    private Result measure(String mode, String path, int rows, Runnable work) {
+        long roundTrips = SimulatedRoundTripConfig.ROUND_TRIPS.get();
+        long start = System.nanoTime();
+        work.run();
+        long elapsed = System.nanoTime() - start;
+        return new Result(mode, path, rows, SimulatedRoundTripConfig.ROUND_TRIPS.get() - roundTrips, elapsed / 1e6);
+    }
+
+    private List<Consult> consults(int day, int count) {
+        List<Consult> consults = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            consults.add(Consult.builder()
+                    .reason("Consulta em lote")
+                    .dateTime(FIRST_DAY.plusDays(day), LocalTime.ofSecondOfDay(i * 15L))
+                    .patient(Patient.builder().name("Paciente " + i).email("bulk" + i + "@bench.com").build())
+                    .professional(Professional.builder().name("Dr. " + i % PROFESSIONALS).email("dr" + i % PROFESSIONALS + "@bench.com").build())
+                    .build());
+        }
+        return consults;
+    }
+
+    private Map<String, String> names(int count, IntFunction<String> email) {
+        Map<String, String> names = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            names.put(email.apply(i), "Participante " + i);
+        }
+        return names;
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+        List<T> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    private record Result(String mode, String path, int rows, long roundTrips, double millis) {
+    }
+
+    /**
+     * Makes every statement execution wait like a round trip to the database would, counting them.
+     */
+    @Configuration
+    static class SimulatedRoundTripConfig {
+
+        static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+        @Bean
+        static BeanPostProcessor simulatedRoundTrip() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                        Object result = method.invoke(target, args);
+                        return result instanceof Connection connection ? connection(connection) : result;
+                    });
+                }
+            };
+        }
+
+        private static Connection connection(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                if (result instanceof CallableStatement statement) {
+                    return statement(CallableStatement.class, statement);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return statement(PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement) {
+                    return statement(Statement.class, statement);
+                }
+                return result;
+            });
+        }
+
+        private static <S extends Statement> S statement(Class<S> type, S statement) {
+            return proxy(type, statement, (target, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    ROUND_TRIPS.incrementAndGet();
+                    TimeUnit.MICROSECONDS.sleep(ROUND_TRIP_US);
+                }
+                return method.invoke(target, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Call<T> call) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return call.invoke(target, method, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            });
+        }
+
+        @FunctionalInterface
+        private interface Call<T> {
+            Object invoke(T target, Method method, Object[] args) throws Exception;
+        }
+    }
+}
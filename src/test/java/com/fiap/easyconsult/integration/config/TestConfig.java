@@ -3,6 +3,7 @@ package com.fiap.easyconsult.integration.config;
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.infra.kafka.service.KafkaMessageService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -16,6 +17,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 
+import java.util.List;
+
 /**
  * Configuração de teste para simplificar autenticação e autorização nos testes de integração.
  * Esta configuração fornece usuários de teste em memória para os testes de integração.
@@ -58,10 +61,22 @@ public class TestConfig {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Recria o schema pelas migrações a cada contexto, como o antigo ddl-auto=create-drop,
+     * garantindo um schema limpo mesmo quando o banco H2 em memória é reaproveitado na mesma JVM.
+     */
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+
     @Bean
     @Primary
     public CacheManager testCacheManager() {
-        return new ConcurrentMapCacheManager("consults", "allConsults", "consultsByFilter");
+        return new ConcurrentMapCacheManager("consults", "consultStats");
     }
 
     /**
@@ -100,6 +115,12 @@ public class TestConfig {
                     consult.getProfessional().getName());
             // Não faz nada - apenas simula o comportamento
         }
+
+        @Override
+        public void publishConsultEvents(List<Consult> consults) {
+            log.info("🧪 [TEST] Simulando publicação de lote de {} consultas no Kafka", consults.size());
+            // Não faz nada - apenas simula o comportamento
+        }
     }
 
 }
\ No newline at end of file
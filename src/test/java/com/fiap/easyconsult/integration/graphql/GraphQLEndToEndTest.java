@@ -13,13 +13,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
 import java.security.interfaces.RSAPrivateKey;
@@ -83,6 +86,24 @@ public class GraphQLEndToEndTest {
         return restTemplate.postForEntity("/graphql", request, Map.class);
     }
 
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> executeGraphQLGet(String query, HttpHeaders headers) {
+        URI uri = UriComponentsBuilder.fromPath("/graphql")
+                .queryParam("query", "{query}")
+                .encode()
+                .buildAndExpand(query)
+                .toUri();
+        return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> nodes(Map<String, Object> connection) {
+        List<Map<String, Object>> edges = (List<Map<String, Object>>) connection.get("edges");
+        return edges.stream()
+                .map(edge -> (Map<String, Object>) edge.get("node"))
+                .toList();
+    }
+
     @Nested
     @DisplayName("Fluxo E2E Completo de Consulta")
     class CompleteConsultFlowE2ETests {
@@ -149,15 +170,19 @@ public class GraphQLEndToEndTest {
             // ==============================================================
             String listQuery = """
                 query {
-                  getAllConsults {
-                    id
-                    patient {
-                      name
-                      email
+                  getAllConsults(first: 100) {
+                    edges {
+                      node {
+                        id
+                        patient {
+                          name
+                          email
+                        }
+                        nameProfessional
+                        statusConsult
+                        reason
+                      }
                     }
-                    nameProfessional
-                    statusConsult
-                    reason
                   }
                 }
                 """;
@@ -171,12 +196,19 @@ public class GraphQLEndToEndTest {
             Map<String, Object> listData = (Map<String, Object>) listResponse.getBody().get("data");
             
             @SuppressWarnings("unchecked")
-            List<Map<String, Object>> consults = (List<Map<String, Object>>) listData.get("getAllConsults");
+            List<Map<String, Object>> consults = nodes((Map<String, Object>) listData.get("getAllConsults"));
 
             assertThat(consults).isNotEmpty();            // Verificar se a consulta criada está na lista
-            boolean consultFound = consults.stream()
-                .anyMatch(c -> consultId.equals(c.get("id")));
-            assertThat(consultFound).isTrue();
+            Map<String, Object> listedConsult = consults.stream()
+                .filter(c -> consultId.equals(c.get("id")))
+                .findFirst()
+                .orElseThrow();
+
+            // Participantes resolvidos em lote a partir dos ids
+            @SuppressWarnings("unchecked")
+            Map<String, Object> listedPatient = (Map<String, Object>) listedConsult.get("patient");
+            assertThat(listedPatient.get("email")).isEqualTo("paciente.e2e@email.com");
+            assertThat(listedConsult.get("nameProfessional")).isEqualTo("Dr. E2E");
 
             // ==============================================================
             // 3. MÉDICO ATUALIZA STATUS DA CONSULTA
@@ -267,12 +299,16 @@ public class GraphQLEndToEndTest {
                   getFilteredConsults(filter: {
                     patientEmail: "maria.filtro.e2e@email.com"
                   }) {
-                    id
-                    patient {
-                      name
-                      email
+                    edges {
+                      node {
+                        id
+                        patient {
+                          name
+                          email
+                        }
+                        reason
+                      }
                     }
-                    reason
                   }
                 }
                 """;
@@ -288,7 +324,7 @@ public class GraphQLEndToEndTest {
             assertThat(filterData).isNotNull();
             
             @SuppressWarnings("unchecked")
-            List<Map<String, Object>> filteredConsults = (List<Map<String, Object>>) filterData.get("getFilteredConsults");
+            List<Map<String, Object>> filteredConsults = nodes((Map<String, Object>) filterData.get("getFilteredConsults"));
 
             assertThat(filteredConsults).isNotNull().isNotEmpty();            // Verificar se todas as consultas são do paciente correto
             filteredConsults.forEach(consult -> {
@@ -297,6 +333,661 @@ public class GraphQLEndToEndTest {
                 assertThat(patient.get("email")).isEqualTo("maria.filtro.e2e@email.com");
             });
         }
+
+        @Test
+        @DisplayName("Deve paginar consultas por cursor sem repetir registros")
+        void shouldPaginateConsultsByCursorE2E() {
+            for (String time : List.of("08:00:00", "08:30:00", "09:00:00")) {
+                String createMutation = """
+                    mutation {
+                      createFullConsult(input: {
+                        patient: { name: "Paciente Pagina", email: "paciente.pagina.%s@email.com" }
+                        professional: { name: "Dr. Pagina", email: "dr.pagina@hospital.com" }
+                        localTime: "%s"
+                        date: "%s"
+                        reason: "Consulta para teste de paginação"
+                      }) { id }
+                    }
+                    """.formatted(time.substring(0, 2) + time.substring(3, 5), time, futureDate);
+                assertThat(executeGraphQL(createMutation, createHeaders("enfermeiro")).getStatusCode().is2xxSuccessful()).isTrue();
+            }
+
+            String firstPageQuery = """
+                query {
+                  getFilteredConsults(filter: { professionalEmail: "dr.pagina@hospital.com" }, first: 2) {
+                    edges { cursor node { id localTime } }
+                    pageInfo { hasNextPage endCursor }
+                  }
+                }
+                """;
+
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            Map<String, Object> firstPage = (Map<String, Object>) ((Map) executeGraphQL(firstPageQuery, createHeaders("medico"))
+                    .getBody().get("data")).get("getFilteredConsults");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> firstPageInfo = (Map<String, Object>) firstPage.get("pageInfo");
+
+            assertThat(nodes(firstPage)).hasSize(2);
+            assertThat(firstPageInfo.get("hasNextPage")).isEqualTo(true);
+
+            String nextPageQuery = """
+                query {
+                  getFilteredConsults(filter: { professionalEmail: "dr.pagina@hospital.com" }, first: 2, after: "%s") {
+                    edges { node { id localTime } }
+                    pageInfo { hasNextPage }
+                  }
+                }
+                """.formatted(firstPageInfo.get("endCursor"));
+
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            Map<String, Object> nextPage = (Map<String, Object>) ((Map) executeGraphQL(nextPageQuery, createHeaders("medico"))
+                    .getBody().get("data")).get("getFilteredConsults");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> nextPageInfo = (Map<String, Object>) nextPage.get("pageInfo");
+
+            assertThat(nodes(nextPage)).hasSize(1);
+            assertThat(nodes(nextPage).getFirst().get("localTime")).isEqualTo("09:00:00");
+            assertThat(nextPageInfo.get("hasNextPage")).isEqualTo(false);
+        }
+
+        @Test
+        @DisplayName("Deve criar consultas em lote reportando conflitos por item")
+        void shouldCreateConsultsInBatchE2E() {
+            String batchMutation = """
+                mutation {
+                  createConsults(inputs: [
+                    { patient: { name: "Paciente Lote", email: "paciente.lote@email.com" }
+                      professional: { name: "Dr. Lote", email: "dr.lote@hospital.com" }
+                      localTime: "10:00:00", date: "%1$s", reason: "Lote 1" },
+                    { patient: { name: "Paciente Lote", email: "paciente.lote@email.com" }
+                      professional: { name: "Dr. Lote", email: "dr.lote@hospital.com" }
+                      localTime: "10:00:00", date: "%1$s", reason: "Lote 2 - conflito" },
+                    { patient: { name: "Paciente Lote", email: "paciente.lote@email.com" }
+                      professional: { name: "Dr. Lote", email: "dr.lote@hospital.com" }
+                      localTime: "11:00:00", date: "%1$s", reason: "Lote 3" }
+                  ]) {
+                    index success code consult { id statusConsult reason }
+                  }
+                }
+                """.formatted(futureDate);
+
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> response = executeGraphQL(batchMutation, createHeaders("enfermeiro"));
+            assertThat(response.getBody()).doesNotContainKey("errors");
+
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            List<Map<String, Object>> results = (List<Map<String, Object>>) ((Map) response.getBody().get("data")).get("createConsults");
+
+            assertThat(results).hasSize(3);
+            assertThat(results).extracting(r -> r.get("success")).containsExactly(true, false, true);
+            assertThat(results.get(1).get("code")).isEqualTo("CONSULT_VALIDATION_ERROR");
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> created = (Map<String, Object>) results.get(2).get("consult");
+            assertThat(created.get("id")).isNotNull();
+            assertThat(created.get("statusConsult")).isEqualTo("SCHEDULED");
+            assertThat(created.get("reason")).isEqualTo("Lote 3");
+        }
+
+        @Test
+        @DisplayName("Deve atualizar status em lote respeitando as transições permitidas")
+        void shouldBulkUpdateStatusE2E() {
+            for (String time : List.of("13:00:00", "13:30:00")) {
+                String createMutation = """
+                    mutation {
+                      createFullConsult(input: {
+                        patient: { name: "Paciente Status", email: "paciente.status.%s@email.com" }
+                        professional: { name: "Dr. Status", email: "dr.status@hospital.com" }
+                        localTime: "%s"
+                        date: "%s"
+                        reason: "Consulta para atualização em lote"
+                      }) { id }
+                    }
+                    """.formatted(time.substring(0, 2) + time.substring(3, 5), time, futureDate);
+                assertThat(executeGraphQL(createMutation, createHeaders("enfermeiro")).getStatusCode().is2xxSuccessful()).isTrue();
+            }
+
+            String bulkMutation = """
+                mutation {
+                  bulkUpdateStatus(filter: { professionalEmail: "dr.status@hospital.com" }, status: CARRIED_OUT) {
+                    id statusConsult nameProfessional
+                  }
+                }
+                """;
+
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> response = executeGraphQL(bulkMutation, createHeaders("medico"));
+            assertThat(response.getBody()).doesNotContainKey("errors");
+
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            List<Map<String, Object>> updated = (List<Map<String, Object>>) ((Map) response.getBody().get("data")).get("bulkUpdateStatus");
+            assertThat(updated).hasSize(2);
+            assertThat(updated).allSatisfy(consult -> {
+                assertThat(consult.get("statusConsult")).isEqualTo("CARRIED_OUT");
+                assertThat(consult.get("nameProfessional")).isEqualTo("Dr. Status");
+            });
+
+            // Consultas finalizadas não podem mudar de status novamente
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> repeated = executeGraphQL(bulkMutation.replace("CARRIED_OUT", "CANCELLED"), createHeaders("medico"));
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            List<Map<String, Object>> none = (List<Map<String, Object>>) ((Map) repeated.getBody().get("data")).get("bulkUpdateStatus");
+            assertThat(none).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordenação e Limite E2E")
+    class OrderAndLimitE2ETests {
+
+        private void schedule(String patientEmail, String professionalName, String professionalEmail, String time) {
+            String createMutation = """
+                mutation {
+                  createFullConsult(input: {
+                    patient: { name: "Paciente Ordem", email: "%s" }
+                    professional: { name: "%s", email: "%s" }
+                    localTime: "%s"
+                    date: "%s"
+                    reason: "Consulta ordenada"
+                  }) { id }
+                }
+                """.formatted(patientEmail, professionalName, professionalEmail, time, futureDate);
+            executeGraphQL(createMutation, createHeaders("enfermeiro"));
+        }
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private Map<String, Object> page(String filter, String after) {
+            String query = """
+                query {
+                  getFilteredConsults(filter: %s%s) {
+                    edges { node { localTime nameProfessional } }
+                    pageInfo { hasNextPage endCursor }
+                  }
+                }
+                """.formatted(filter, after != null ? ", after: \"" + after + "\"" : "");
+            ResponseEntity<Map> response = executeGraphQL(query, createHeaders("medico"));
+            assertThat(response.getBody()).doesNotContainKey("errors");
+            return (Map<String, Object>) ((Map) response.getBody().get("data")).get("getFilteredConsults");
+        }
+
+        @Test
+        @DisplayName("Deve ordenar por hora decrescente, limitar a página e continuar pelo cursor")
+        void shouldOrderByTimeDescendingWithLimit() {
+            schedule("paciente.ordem1@email.com", "Dr. Ordem", "dr.ordem@hospital.com", "08:00:00");
+            schedule("paciente.ordem2@email.com", "Dr. Ordem", "dr.ordem@hospital.com", "10:00:00");
+            schedule("paciente.ordem3@email.com", "Dr. Ordem", "dr.ordem@hospital.com", "09:00:00");
+            String filter = "{ professionalEmail: \"dr.ordem@hospital.com\", orderBy: [{ field: TIME, direction: DESC }], limit: 2 }";
+
+            Map<String, Object> first = page(filter, null);
+            assertThat(nodes(first)).extracting(node -> node.get("localTime")).containsExactly("10:00:00", "09:00:00");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> pageInfo = (Map<String, Object>) first.get("pageInfo");
+            assertThat(pageInfo).containsEntry("hasNextPage", true);
+
+            Map<String, Object> second = page(filter, (String) pageInfo.get("endCursor"));
+            assertThat(nodes(second)).extracting(node -> node.get("localTime")).containsExactly("08:00:00");
+        }
+
+        @Test
+        @DisplayName("Deve ordenar pelo nome do profissional entre páginas")
+        void shouldOrderByProfessionalAcrossPages() {
+            schedule("paciente.ordem.prof@email.com", "Ana Ordem", "ana.ordem@hospital.com", "15:00:00");
+            schedule("paciente.ordem.prof@email.com", "Bruno Ordem", "bruno.ordem@hospital.com", "14:00:00");
+            String filter = "{ patientEmail: \"paciente.ordem.prof@email.com\", orderBy: [{ field: PROFESSIONAL, direction: DESC }], limit: 1 }";
+
+            Map<String, Object> first = page(filter, null);
+            assertThat(nodes(first)).extracting(node -> node.get("nameProfessional")).containsExactly("Bruno Ordem");
+
+            @SuppressWarnings("unchecked")
+            String endCursor = (String) ((Map<String, Object>) first.get("pageInfo")).get("endCursor");
+            Map<String, Object> second = page(filter, endCursor);
+            assertThat(nodes(second)).extracting(node -> node.get("nameProfessional")).containsExactly("Ana Ordem");
+        }
+    }
+
+    @Nested
+    @DisplayName("Filtros por Intervalo E2E")
+    class RangeFilterE2ETests {
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private List<Map<String, Object>> filtered(String filter) {
+            String query = """
+                query {
+                  getFilteredConsults(filter: %s) {
+                    edges { node { localTime statusConsult } }
+                  }
+                }
+                """.formatted(filter);
+            ResponseEntity<Map> response = executeGraphQL(query, createHeaders("medico"));
+            assertThat(response.getBody()).doesNotContainKey("errors");
+            return nodes((Map<String, Object>) ((Map) response.getBody().get("data")).get("getFilteredConsults"));
+        }
+
+        @Test
+        @DisplayName("Deve filtrar por intervalo de datas, janela de horário e lista de status")
+        void shouldFilterByDateRangeTimeWindowAndStatusIn() {
+            for (String time : List.of("08:00:00", "10:00:00", "12:00:00")) {
+                String createMutation = """
+                    mutation {
+                      createFullConsult(input: {
+                        patient: { name: "Paciente Intervalo", email: "paciente.intervalo@email.com" }
+                        professional: { name: "Dr. Intervalo", email: "dr.intervalo@hospital.com" }
+                        localTime: "%s"
+                        date: "%s"
+                        reason: "Consulta no intervalo"
+                      }) { id }
+                    }
+                    """.formatted(time, futureDate);
+                executeGraphQL(createMutation, createHeaders("enfermeiro"));
+            }
+            String range = "professionalEmail: \"dr.intervalo@hospital.com\", dateFrom: \"%s\", dateTo: \"%s\", timeFrom: \"09:00:00\", timeTo: \"12:00:00\""
+                    .formatted(futureDate, futureDate);
+
+            assertThat(filtered("{ " + range + ", statusIn: [SCHEDULED, CARRIED_OUT] }"))
+                    .extracting(node -> node.get("localTime"))
+                    .containsExactly("10:00:00", "12:00:00");
+            assertThat(filtered("{ " + range + ", statusIn: [CANCELLED] }")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Busca Textual E2E")
+    class SearchConsultsE2ETests {
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private Map<String, Object> search(String text, String after) {
+            String query = """
+                query {
+                  searchConsults(text: "%s", filter: { professionalEmail: "dr.busca@hospital.com" }, first: 1%s) {
+                    edges { node { reason } }
+                    pageInfo { hasNextPage endCursor }
+                  }
+                }
+                """.formatted(text, after != null ? ", after: \"" + after + "\"" : "");
+            ResponseEntity<Map> response = executeGraphQL(query, createHeaders("medico"));
+            assertThat(response.getBody()).doesNotContainKey("errors");
+            return (Map<String, Object>) ((Map) response.getBody().get("data")).get("searchConsults");
+        }
+
+        @Test
+        @DisplayName("Deve buscar pelo motivo da consulta e paginar os resultados")
+        void shouldSearchByReasonAndPaginate() {
+            List<String> reasons = List.of("Retorno de dor lombar", "Dor lombar aguda", "Check-up anual");
+            for (int i = 0; i < reasons.size(); i++) {
+                String createMutation = """
+                    mutation {
+                      createFullConsult(input: {
+                        patient: { name: "Paciente Busca", email: "paciente.busca@email.com" }
+                        professional: { name: "Dr. Busca", email: "dr.busca@hospital.com" }
+                        localTime: "1%d:00:00"
+                        date: "%s"
+                        reason: "%s"
+                      }) { id }
+                    }
+                    """.formatted(i, futureDate, reasons.get(i));
+                executeGraphQL(createMutation, createHeaders("enfermeiro"));
+            }
+
+            Map<String, Object> first = search("dor lombar", null);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> pageInfo = (Map<String, Object>) first.get("pageInfo");
+            assertThat(pageInfo).containsEntry("hasNextPage", true);
+
+            Map<String, Object> second = search("dor lombar", (String) pageInfo.get("endCursor"));
+            assertThat(nodes(second)).hasSize(1);
+            assertThat(List.of(nodes(first).getFirst().get("reason"), nodes(second).getFirst().get("reason")))
+                    .containsExactlyInAnyOrder("Retorno de dor lombar", "Dor lombar aguda");
+            assertThat(((Map<?, ?>) second.get("pageInfo")).get("hasNextPage")).isEqualTo(false);
+        }
+    }
+
+    @Nested
+    @DisplayName("Exportação em Streaming E2E")
+    class ConsultStreamE2ETests {
+
+        @Test
+        @DisplayName("Deve exportar as consultas filtradas como array JSON em ordem de data e hora")
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        void shouldStreamFilteredConsultsAsJsonArray() {
+            for (String time : List.of("11:00:00", "09:00:00")) {
+                String createMutation = """
+                    mutation {
+                      createFullConsult(input: {
+                        patient: { name: "Paciente Export", email: "paciente.export@email.com" }
+                        professional: { name: "Dr. Export", email: "dr.export@hospital.com" }
+                        localTime: "%s"
+                        date: "%s"
+                        reason: "Consulta exportada"
+                      }) { id }
+                    }
+                    """.formatted(time, futureDate);
+                executeGraphQL(createMutation, createHeaders("enfermeiro"));
+            }
+            URI uri = UriComponentsBuilder.fromPath("/api/consults/stream")
+                    .queryParam("professionalEmail", "dr.export@hospital.com")
+                    .queryParam("statusIn", "SCHEDULED")
+                    .build()
+                    .toUri();
+
+            ResponseEntity<List> response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(createHeaders("medico")), List.class);
+
+            assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+            List<Map<String, Object>> consults = response.getBody();
+            assertThat(consults).extracting(consult -> consult.get("localTime")).containsExactly("09:00:00", "11:00:00");
+            assertThat(consults).allSatisfy(consult -> assertThat((Map<String, Object>) consult.get("professional"))
+                    .containsEntry("email", "dr.export@hospital.com"));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar intervalo de datas invertido antes de iniciar o stream")
+        @SuppressWarnings("rawtypes")
+        void shouldRejectInvertedDateRange() {
+            URI uri = UriComponentsBuilder.fromPath("/api/consults/stream")
+                    .queryParam("dateFrom", "2030-01-02")
+                    .queryParam("dateTo", "2030-01-01")
+                    .build()
+                    .toUri();
+
+            ResponseEntity<Map> response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(createHeaders("medico")), Map.class);
+
+            assertThat(response.getStatusCode().value()).isEqualTo(400);
+            assertThat(response.getBody()).containsEntry("code", "INVALID_FILTER");
+        }
+    }
+
+    @Nested
+    @DisplayName("Entrega Incremental com @defer E2E")
+    class IncrementalDeliveryE2ETests {
+
+        @Test
+        @DisplayName("Deve entregar os participantes adiados em partes multipart após a página")
+        void shouldDeliverDeferredParticipantsInMultipartParts() {
+            String createMutation = """
+                mutation {
+                  createFullConsult(input: {
+                    patient: { name: "Paciente Adiado", email: "paciente.adiado@email.com" }
+                    professional: { name: "Dr. Adiado", email: "dr.adiado@hospital.com" }
+                    localTime: "10:00:00"
+                    date: "%s"
+                    reason: "Consulta com defer"
+                  }) { id }
+                }
+                """.formatted(futureDate);
+            executeGraphQL(createMutation, createHeaders("enfermeiro"));
+            String query = """
+                query {
+                  getFilteredConsults(filter: { professionalEmail: "dr.adiado@hospital.com" }) {
+                    edges { node { id reason ... @defer(label: "participants") { patient { name } } } }
+                  }
+                }
+                """;
+            HttpHeaders headers = createHeaders("medico");
+            headers.setAccept(List.of(MediaType.parseMediaType("multipart/mixed; deferSpec=20220824"), MediaType.APPLICATION_JSON));
+            String body = "{\"query\": \"%s\"}".formatted(query.replace("\"", "\\\"").replace("\n", "\\n"));
+
+            ResponseEntity<String> response = restTemplate.postForEntity("/graphql", new HttpEntity<>(body, headers), String.class);
+
+            assertThat(response.getHeaders().getContentType()).isNotNull();
+            assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.parseMediaType("multipart/mixed"))).isTrue();
+            String[] parts = response.getBody().split("\r\n---\r\n");
+            assertThat(parts).hasSizeGreaterThanOrEqualTo(3);
+            assertThat(parts[1]).contains("Consulta com defer").contains("\"hasNext\":true").doesNotContain("Paciente Adiado");
+            assertThat(response.getBody()).contains("\"label\":\"participants\"").contains("Paciente Adiado")
+                    .contains("\"hasNext\":false").endsWith("\r\n-----\r\n");
+        }
+
+        @Test
+        @DisplayName("Deve responder JSON completo quando o cliente não aceita multipart")
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        void shouldIgnoreDeferWithoutMultipartAccept() {
+            String query = """
+                query {
+                  getAllConsults(first: 1) {
+                    edges { node { id ... @defer { reason } } }
+                  }
+                }
+                """;
+
+            ResponseEntity<Map> response = executeGraphQL(query, createHeaders("medico"));
+
+            assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+            assertThat(response.getBody()).doesNotContainKey("errors").doesNotContainKey("hasNext");
+        }
+    }
+
+    @Nested
+    @DisplayName("Agregados de Consultas E2E")
+    class ConsultStatsE2ETests {
+
+        @Test
+        @DisplayName("Deve contar consultas agrupadas por status e profissional no banco")
+        void shouldCountConsultsGroupedByStatusAndProfessional() {
+            for (String time : List.of("08:00:00", "08:30:00", "09:00:00")) {
+                String createMutation = """
+                    mutation {
+                      createFullConsult(input: {
+                        patient: { name: "Paciente Stats", email: "paciente.stats.%s@email.com" }
+                        professional: { name: "Dr. Stats", email: "dr.stats@hospital.com" }
+                        localTime: "%s"
+                        date: "%s"
+                        reason: "Consulta agregada"
+                      }) { id }
+                    }
+                    """.formatted(time.substring(0, 2) + time.substring(3, 5), time, futureDate);
+                executeGraphQL(createMutation, createHeaders("enfermeiro"));
+            }
+
+            String statsQuery = """
+                query {
+                  consultStats(filter: { professionalEmail: "dr.stats@hospital.com" }, groupBy: [STATUS, PROFESSIONAL]) {
+                    status
+                    date
+                    professional { name email }
+                    count
+                  }
+                }
+                """;
+
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> response = executeGraphQL(statsQuery, createHeaders("medico"));
+
+            assertThat(response.getBody()).doesNotContainKey("errors");
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            List<Map<String, Object>> stats = (List<Map<String, Object>>) ((Map) response.getBody().get("data")).get("consultStats");
+            assertThat(stats).hasSize(1);
+            assertThat(stats.get(0))
+                    .containsEntry("status", "SCHEDULED")
+                    .containsEntry("date", null)
+                    .containsEntry("count", 3)
+                    .containsEntry("professional", Map.of("name", "Dr. Stats", "email", "dr.stats@hospital.com"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Horários Disponíveis E2E")
+    class AvailableSlotsE2ETests {
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private List<String> availableStarts() {
+            String slotsQuery = """
+                query {
+                  availableSlots(professionalEmail: "dr.slots@hospital.com", from: "%s", to: "%s", slotMinutes: 60) {
+                    date
+                    start
+                    end
+                  }
+                }
+                """.formatted(futureDate, futureDate);
+            ResponseEntity<Map> response = executeGraphQL(slotsQuery, createHeaders("paciente"));
+            assertThat(response.getBody()).doesNotContainKey("errors");
+            List<Map<String, Object>> slots = (List<Map<String, Object>>) ((Map) response.getBody().get("data")).get("availableSlots");
+            return slots.stream().map(slot -> String.valueOf(slot.get("start"))).toList();
+        }
+
+        private void schedule(String time, String patientEmail) {
+            String createMutation = """
+                mutation {
+                  createFullConsult(input: {
+                    patient: { name: "Paciente Agenda", email: "%s" }
+                    professional: { name: "Dr. Slots", email: "dr.slots@hospital.com" }
+                    localTime: "%s"
+                    date: "%s"
+                    reason: "Consulta agenda"
+                  }) { id }
+                }
+                """.formatted(patientEmail, time, futureDate);
+            executeGraphQL(createMutation, createHeaders("enfermeiro"));
+        }
+
+        @Test
+        @DisplayName("Deve calcular os horários livres e refletir novas consultas")
+        void shouldComputeFreeSlotsAndFollowNewConsults() {
+            schedule("10:00:00", "paciente.slots1@email.com");
+
+            assertThat(availableStarts()).containsExactly(
+                    "08:00:00", "09:00:00", "10:30:00", "11:30:00", "12:30:00", "13:30:00", "14:30:00", "15:30:00", "16:30:00");
+
+            // O índice já carregado é atualizado pelo evento da nova consulta
+            schedule("08:00:00", "paciente.slots2@email.com");
+
+            assertThat(availableStarts()).startsWith("08:30:00", "10:30:00");
+        }
+    }
+
+    @Nested
+    @DisplayName("Queries via GET com ETag E2E")
+    class ConditionalGetE2ETests {
+
+        private static final String LIST_QUERY = """
+            query {
+              getAllConsults {
+                edges {
+                  node { id reason }
+                }
+              }
+            }
+            """;
+
+        @Test
+        @DisplayName("Deve responder 304 quando o If-None-Match corresponde à versão atual")
+        void shouldReturnNotModifiedForMatchingEtag() {
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> first = executeGraphQLGet(LIST_QUERY, createHeaders("medico"));
+
+            assertThat(first.getStatusCode().value()).isEqualTo(200);
+            assertThat(first.getBody()).containsKey("data").doesNotContainKey("errors");
+            String etag = first.getHeaders().getETag();
+            assertThat(etag).isNotBlank();
+
+            HttpHeaders conditional = createHeaders("medico");
+            conditional.setIfNoneMatch(etag);
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> second = executeGraphQLGet(LIST_QUERY, conditional);
+
+            assertThat(second.getStatusCode().value()).isEqualTo(304);
+            assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+            assertThat(second.getBody()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve trocar o ETag depois de uma mutation")
+        void shouldChangeEtagAfterMutation() {
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> before = executeGraphQLGet(LIST_QUERY, createHeaders("medico"));
+            String etag = before.getHeaders().getETag();
+
+            String createMutation = """
+                mutation {
+                  createFullConsult(input: {
+                    patient: { name: "Paciente ETag", email: "paciente.etag@email.com" }
+                    professional: { name: "Dr. ETag", email: "dr.etag@hospital.com" }
+                    localTime: "16:00:00"
+                    date: "%s"
+                    reason: "Consulta ETag"
+                  }) { id }
+                }
+                """.formatted(futureDate);
+            executeGraphQL(createMutation, createHeaders("enfermeiro"));
+
+            HttpHeaders conditional = createHeaders("medico");
+            conditional.setIfNoneMatch(etag);
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> after = executeGraphQLGet(LIST_QUERY, conditional);
+
+            assertThat(after.getStatusCode().value()).isEqualTo(200);
+            assertThat(after.getHeaders().getETag()).isNotEqualTo(etag);
+        }
+
+        @Test
+        @DisplayName("Deve recontar os agregados depois de uma escrita, sem servir o cache antigo com o ETag novo")
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        void shouldRecountStatsAfterWrite() {
+            String statsQuery = """
+                query {
+                  consultStats(filter: { professionalEmail: "dr.etag.stats@hospital.com" }) { count }
+                }
+                """;
+            String createMutation = """
+                mutation {
+                  createFullConsult(input: {
+                    patient: { name: "Paciente ETag Stats", email: "paciente.etag.stats.%s@email.com" }
+                    professional: { name: "Dr. ETag Stats", email: "dr.etag.stats@hospital.com" }
+                    localTime: "%s"
+                    date: "%s"
+                    reason: "Consulta ETag Stats"
+                  }) { id }
+                }
+                """;
+            executeGraphQL(createMutation.formatted("1", "13:00:00", futureDate), createHeaders("enfermeiro"));
+
+            ResponseEntity<Map> before = executeGraphQLGet(statsQuery, createHeaders("medico"));
+            String etag = before.getHeaders().getETag();
+            assertThat(((Map<String, List<Map<String, Object>>>) before.getBody().get("data")).get("consultStats"))
+                    .containsExactly(Map.of("count", 1));
+
+            executeGraphQL(createMutation.formatted("2", "13:30:00", futureDate), createHeaders("enfermeiro"));
+
+            HttpHeaders conditional = createHeaders("medico");
+            conditional.setIfNoneMatch(etag);
+            ResponseEntity<Map> after = executeGraphQLGet(statsQuery, conditional);
+
+            assertThat(after.getStatusCode().value()).isEqualTo(200);
+            assertThat(after.getHeaders().getETag()).isNotEqualTo(etag);
+            assertThat(((Map<String, List<Map<String, Object>>>) after.getBody().get("data")).get("consultStats"))
+                    .containsExactly(Map.of("count", 2));
+        }
+
+        @Test
+        @DisplayName("Não deve compartilhar o ETag entre usuários com scopes diferentes")
+        void shouldNotShareEtagAcrossScopes() {
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> doctor = executeGraphQLGet(LIST_QUERY, createHeaders("medico"));
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> nurse = executeGraphQLGet(LIST_QUERY, createHeaders("enfermeiro"));
+
+            assertThat(doctor.getHeaders().getETag()).isNotEqualTo(nurse.getHeaders().getETag());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar mutations enviadas via GET")
+        void shouldRejectMutationOverGet() {
+            String deleteMutation = """
+                mutation {
+                  deleteConsult(id: "1")
+                }
+                """;
+
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> response = executeGraphQLGet(deleteMutation, createHeaders("medico"));
+
+            assertThat(response.getHeaders().getETag()).isNull();
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> errors = (List<Map<String, Object>>) response.getBody().get("errors");
+            assertThat(errors).isNotEmpty();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> extensions = (Map<String, Object>) errors.get(0).get("extensions");
+            assertThat(extensions).containsEntry("code", "OPERATION_NOT_ALLOWED");
+        }
     }
 
     @Nested
@@ -346,8 +1037,12 @@ public class GraphQLEndToEndTest {
             String listQuery = """
                 query {
                   getAllConsults {
-                    id
-                    reason
+                    edges {
+                      node {
+                        id
+                        reason
+                      }
+                    }
                   }
                 }
                 """;
@@ -371,7 +1066,9 @@ public class GraphQLEndToEndTest {
             String query = """
                 query {
                   getAllConsults {
-                    id
+                    edges {
+                      node { id }
+                    }
                   }
                 }
                 """;
@@ -0,0 +1,201 @@
+package com.fiap.easyconsult.integration.persistence;
+
+import com.fiap.easyconsult.EasyconsultMain;
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.model.UpdateConsult;
+import com.fiap.easyconsult.core.outputport.SaveGateway;
+import com.fiap.easyconsult.core.outputport.UpdateGateway;
+import com.fiap.easyconsult.infra.exception.GatewayException;
+import com.fiap.easyconsult.integration.config.TestConfig;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ContextConfiguration(classes = {EasyconsultMain.class, TestConfig.class})
+@ActiveProfiles("test")
+@Transactional
+// O cache de consultas sobrevive ao rollback; o contexto não é reaproveitado
+@DirtiesContext
+@DisplayName("Consult Slot Constraint Tests")
+class ConsultSlotConstraintTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(5);
+    private static final LocalTime TIME = LocalTime.of(14, 0);
+
+    @Autowired
+    private SaveGateway saveGateway;
+
+    @Autowired
+    private UpdateGateway updateGateway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Consult consult(String patientEmail, String professionalEmail, LocalTime time) {
+        return Consult.builder()
+                .reason("Consulta de rotina")
+                .dateTime(DATE, time)
+                .patient(Patient.builder().name("Paciente Agenda").email(patientEmail).build())
+                .professional(Professional.builder().name("Dr. Agenda").email(professionalEmail).build())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Agendamento individual")
+    class SingleBookingTests {
+
+        @Test
+        @DisplayName("Deve rejeitar o mesmo paciente no mesmo horário")
+        void shouldRejectPatientConflict() {
+            // Given
+            saveGateway.save(consult("slot.patient@test.com", "slot.pro1@test.com", TIME));
+
+            // When / Then
+            assertThatThrownBy(() -> saveGateway.save(consult("slot.patient@test.com", "slot.pro2@test.com", TIME)))
+                    .isInstanceOf(GatewayException.class)
+                    .hasMessageContaining("already has an appointment registered")
+                    .extracting("code").isEqualTo("CONSULT_VALIDATION_ERROR");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar o mesmo profissional no mesmo horário")
+        void shouldRejectProfessionalConflict() {
+            // Given
+            saveGateway.save(consult("slot.patient1@test.com", "slot.pro@test.com", TIME));
+
+            // When / Then
+            assertThatThrownBy(() -> saveGateway.save(consult("slot.patient2@test.com", "slot.pro@test.com", TIME)))
+                    .isInstanceOf(GatewayException.class)
+                    .hasMessageContaining("professional already has an appointment")
+                    .extracting("code").isEqualTo("CONSULT_VALIDATION_ERROR");
+        }
+
+        @Test
+        @DisplayName("Deve permitir reagendar um horário cancelado")
+        void shouldReuseCancelledSlot() {
+            // Given
+            Consult first = saveGateway.save(consult("slot.cancel@test.com", "slot.cancel.pro@test.com", TIME));
+            jdbcTemplate.update("UPDATE consults SET status = 'CANCELLED' WHERE id = ?", first.getId().getValue());
+
+            // When
+            Consult second = saveGateway.save(consult("slot.cancel@test.com", "slot.cancel.pro@test.com", TIME));
+
+            // Then
+            assertThat(second.getId()).isNotEqualTo(first.getId());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar remarcação para um horário ocupado")
+        void shouldRejectRescheduleIntoTakenSlot() {
+            // Given
+            saveGateway.save(consult("slot.move@test.com", "slot.move.pro@test.com", TIME));
+            Consult other = saveGateway.save(consult("slot.move@test.com", "slot.move.pro@test.com", TIME.plusHours(1)));
+            UpdateConsult update = UpdateConsult.builder().id(other.getId().getValue()).time(TIME).build();
+
+            // When / Then
+            assertThatThrownBy(() -> updateGateway.update(update))
+                    .isInstanceOf(GatewayException.class)
+                    .extracting("code").isEqualTo("CONSULT_VALIDATION_ERROR");
+        }
+    }
+
+    @Nested
+    @DisplayName("Agendamento em lote")
+    class BatchBookingTests {
+
+        @Test
+        @DisplayName("Deve recusar apenas os itens que ocupam horário do paciente ou do profissional")
+        void shouldRejectOnlyConflictingItems() {
+            // Given
+            saveGateway.save(consult("lote.a@test.com", "lote.pro@test.com", TIME));
+
+            // When
+            List<ConsultCreationResult> results = saveGateway.saveAll(List.of(
+                    consult("lote.b@test.com", "lote.pro@test.com", TIME),
+                    consult("lote.a@test.com", "lote.outro@test.com", TIME),
+                    consult("lote.b@test.com", "lote.pro@test.com", TIME.plusHours(1)),
+                    consult("lote.c@test.com", "lote.pro@test.com", TIME.plusHours(1))));
+
+            // Then
+            assertThat(results).extracting(ConsultCreationResult::isSuccess).containsExactly(false, false, true, false);
+            assertThat(results.get(0).getMessage()).contains("professional");
+            assertThat(results.get(1).getCode()).isEqualTo("CONSULT_VALIDATION_ERROR");
+        }
+    }
+
+    @Nested
+    @DisplayName("Migração de horários duplicados")
+    class SlotMigrationTests {
+
+        private static final String[] LOCATIONS = {"classpath:db/migration/common", "classpath:db/migration/h2"};
+
+        private JdbcTemplate databaseBeforeSlotConstraints(DriverManagerDataSource dataSource) {
+            JdbcTemplate database = new JdbcTemplate(dataSource);
+            Flyway.configure().dataSource(dataSource).locations(LOCATIONS).target("4").load().migrate();
+            database.update("INSERT INTO patient (id, name, email) VALUES (1, 'A', 'a@test.com'), (2, 'B', 'b@test.com')");
+            database.update("INSERT INTO professional (id, name, email) VALUES (1, 'P', 'p@test.com')");
+            return database;
+        }
+
+        @Test
+        @DisplayName("Deve interromper a migração listando as reservas que disputam um horário, sem alterá-las")
+        void shouldFailListingDuplicates() {
+            // Given
+            DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:slots;DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate database = databaseBeforeSlotConstraints(dataSource);
+            String insert = "INSERT INTO consults (id, patient, professional, local_date, local_time, status) VALUES (?, ?, 1, ?, ?, ?)";
+            database.update(insert, 1, 1, DATE, TIME, "CANCELLED");
+            database.update(insert, 2, 1, DATE, TIME, "SCHEDULED");
+            database.update(insert, 3, 2, DATE, TIME, "SCHEDULED");
+            database.update(insert, 4, 1, DATE, TIME, "SCHEDULED");
+
+            // When / Then
+            assertThatThrownBy(() -> Flyway.configure().dataSource(dataSource).locations(LOCATIONS).load().migrate())
+                    .hasMessageContaining("Active consults share a patient or professional slot: 3 (slot of 2), 4 (slot of 2), 4 (slot of 3)");
+            assertThat(database.queryForList("SELECT status FROM consults ORDER BY id", String.class))
+                    .containsExactly("CANCELLED", "SCHEDULED", "SCHEDULED", "SCHEDULED");
+            database.execute("DROP ALL OBJECTS");
+        }
+
+        @Test
+        @DisplayName("Deve migrar quando só reservas canceladas repetem o horário")
+        void shouldMigrateWhenOnlyCancelledRepeat() {
+            // Given
+            DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:slots-cancelled;DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate database = databaseBeforeSlotConstraints(dataSource);
+            String insert = "INSERT INTO consults (id, patient, professional, local_date, local_time, status) VALUES (?, ?, 1, ?, ?, ?)";
+            database.update(insert, 1, 1, DATE, TIME, "CANCELLED");
+            database.update(insert, 2, 1, DATE, TIME, "SCHEDULED");
+
+            // When
+            MigrateResult result = Flyway.configure().dataSource(dataSource).locations(LOCATIONS).load().migrate();
+
+            // Then
+            assertThat(result.success).isTrue();
+            assertThat(database.queryForList("SELECT status FROM consults ORDER BY id", String.class))
+                    .containsExactly("CANCELLED", "SCHEDULED");
+            database.execute("DROP ALL OBJECTS");
+        }
+    }
+}
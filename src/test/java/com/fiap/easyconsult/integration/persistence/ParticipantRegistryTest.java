@@ -0,0 +1,128 @@
+package com.fiap.easyconsult.integration.persistence;
+
+import com.fiap.easyconsult.EasyconsultMain;
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.outputport.SaveGateway;
+import com.fiap.easyconsult.infra.adapter.gateway.ParticipantRegistry;
+import com.fiap.easyconsult.integration.config.TestConfig;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ContextConfiguration(classes = {EasyconsultMain.class, TestConfig.class})
+@ActiveProfiles("test")
+@Transactional
+// Os caches de consultas e participantes sobrevivem ao rollback; o contexto não é reaproveitado
+@DirtiesContext
+@DisplayName("Participant Registry Tests")
+class ParticipantRegistryTest {
+
+    @Autowired
+    private ParticipantRegistry participantRegistry;
+
+    @Autowired
+    private SaveGateway saveGateway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Consult consult(String patientName, LocalTime time) {
+        return Consult.builder()
+                .reason("Retorno")
+                .dateTime(LocalDate.now().plusDays(3), time)
+                .patient(Patient.builder().name(patientName).email("registry.patient@test.com").build())
+                .professional(Professional.builder().name("Dra. Registro").email("registry.professional@test.com").build())
+                .build();
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    @Nested
+    @DisplayName("Upsert por email")
+    class UpsertTests {
+
+        @Test
+        @DisplayName("Deve reutilizar o mesmo paciente e profissional em consultas diferentes")
+        void shouldReuseParticipantRows() {
+            // When
+            Consult first = saveGateway.save(consult("Paciente Registro", LocalTime.of(9, 0)));
+            Consult second = saveGateway.save(consult("Paciente Registro", LocalTime.of(10, 0)));
+
+            // Then
+            assertThat(second.getPatient().getId()).isEqualTo(first.getPatient().getId());
+            assertThat(second.getProfessional().getId()).isEqualTo(first.getProfessional().getId());
+            assertThat(count("SELECT COUNT(*) FROM patient WHERE email = ?", "registry.patient@test.com")).isEqualTo(1);
+            assertThat(count("SELECT COUNT(*) FROM professional WHERE email = ?", "registry.professional@test.com")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve registrar cada email uma vez em um lote e atualizar o nome alterado")
+        void shouldRegisterEachEmailOnceAndUpdateName() {
+            // Given
+            Long id = participantRegistry.patientIds(Map.of("lote@test.com", "Nome Antigo")).get("lote@test.com");
+
+            // When
+            Map<String, Long> ids = participantRegistry.patientIds(Map.of(
+                    "lote@test.com", "Nome Novo",
+                    "outro.lote@test.com", "Outro Paciente"));
+
+            // Then
+            assertThat(ids.get("lote@test.com")).isEqualTo(id);
+            assertThat(ids.get("outro.lote@test.com")).isNotNull().isNotEqualTo(id);
+            assertThat(jdbcTemplate.queryForObject("SELECT name FROM patient WHERE id = ?", String.class, id))
+                    .isEqualTo("Nome Novo");
+        }
+    }
+
+    @Nested
+    @DisplayName("Migração de duplicados")
+    class DeduplicationMigrationTests {
+
+        @Test
+        @DisplayName("Deve unir participantes duplicados mantendo as consultas")
+        void shouldMergeDuplicatedParticipants() {
+            // Given
+            DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:dedupe;DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate database = new JdbcTemplate(dataSource);
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common").target("2")
+                    .load().migrate();
+            for (int i = 0; i < 3; i++) {
+                database.update("INSERT INTO patient (id, name, email) VALUES (?, ?, ?)", 10 + i, "Paciente", "dup@test.com");
+                database.update("INSERT INTO professional (id, name, email) VALUES (?, ?, ?)", 20 + i, "Profissional", "dup.pro@test.com");
+                database.update("INSERT INTO consults (patient, professional, local_date, local_time, status) VALUES (?, ?, ?, ?, 'SCHEDULED')",
+                        10 + i, 20 + i, LocalDate.now(), LocalTime.of(9 + i, 0));
+            }
+
+            // When
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common").load().migrate();
+
+            // Then
+            assertThat(database.queryForList("SELECT id FROM patient", Long.class)).containsExactly(10L);
+            assertThat(database.queryForList("SELECT id FROM professional", Long.class)).containsExactly(20L);
+            assertThat(database.queryForList("SELECT DISTINCT patient FROM consults", Long.class)).isEqualTo(List.of(10L));
+            assertThat(database.queryForList("SELECT DISTINCT professional FROM consults", Long.class)).isEqualTo(List.of(20L));
+            database.execute("DROP ALL OBJECTS");
+        }
+    }
+}
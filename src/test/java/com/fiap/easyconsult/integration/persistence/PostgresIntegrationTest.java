@@ -0,0 +1,232 @@
+package com.fiap.easyconsult.integration.persistence;
+
+import com.fiap.easyconsult.EasyconsultMain;
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.outputport.FindByGateway;
+import com.fiap.easyconsult.core.outputport.UpdateGateway;
+import com.fiap.easyconsult.integration.config.TestConfig;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cobre o que só existe no PostgreSQL: as migrações de postgresql/, os índices parcial e GIN,
+ * a busca com websearch_to_tsquery e o UPDATE ... RETURNING do bulkUpdateStatus.
+ * Roda com -Ppostgresql e é ignorado quando não há Docker.
+ */
+@Tag("postgresql")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@ContextConfiguration(classes = {EasyconsultMain.class, TestConfig.class})
+@ActiveProfiles("test")
+@Transactional
+// O cache de consultas sobrevive ao rollback; o contexto não é reaproveitado
+@DirtiesContext
+@DisplayName("PostgreSQL Integration Tests")
+class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+    // Acima dos blocos reservados pelas sequences, para não colidir com ids do Hibernate
+    private static final int FIRST_ID = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("findByGatewayImpl")
+    private FindByGateway findByGateway;
+
+    @Autowired
+    private UpdateGateway updateGateway;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.batchUpdate("INSERT INTO patient (id, name, email) VALUES (?, ?, ?)",
+                rows(200, i -> new Object[]{FIRST_ID + i, "Paciente " + i, "paciente" + i + "@pg.com"}));
+        jdbcTemplate.batchUpdate("INSERT INTO professional (id, name, email) VALUES (?, ?, ?)",
+                rows(20, i -> new Object[]{FIRST_ID + i, "Profissional " + i, "profissional" + i + "@pg.com"}));
+        ConsultStatus[] statuses = ConsultStatus.values();
+        jdbcTemplate.batchUpdate("INSERT INTO consults (id, patient, professional, local_date, local_time, reason, status)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows(4000, i -> new Object[]{FIRST_ID + i, FIRST_ID + i % 200, FIRST_ID + i % 20, FIRST_DAY.plusDays(i % 60),
+                        // Um horário por consulta, para não ferir os índices únicos de agenda
+                        LocalTime.ofSecondOfDay(i * 15L), i % 100 == 0 ? "Retorno pós-operatório" : "Consulta " + i,
+                        statuses[i % statuses.length].name()}));
+        jdbcTemplate.execute("ANALYZE consults");
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    /**
+     * Plano da consulta com a varredura sequencial desligada: sobra a tabela inteira apenas
+     * quando nenhum índice atende ao predicado.
+     */
+    private String plan(String sql) {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    @Nested
+    @DisplayName("Migrações")
+    class MigrationTests {
+
+        @Test
+        @DisplayName("Deve aplicar todas as migrações de common/ e postgresql/")
+        void shouldApplyAllMigrations() {
+            // When
+            List<String> versions = jdbcTemplate.queryForList(
+                    "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+            // Then
+            assertThat(versions).containsExactly("1", "2", "3", "4", "5", "6", "7");
+            assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'consults'", String.class))
+                    .contains("idx_consults_reason_tsv", "uk_consults_patient_slot", "uk_consults_professional_slot")
+                    .doesNotContain("idx_consults_professional_active");
+        }
+
+        @Test
+        @DisplayName("Deve dar às linhas inseridas por SQL um id fora dos blocos do Hibernate")
+        void shouldDefaultIdsFromPooledSequence() {
+            // When
+            Long id = jdbcTemplate.queryForObject(
+                    "INSERT INTO patient (name, email) VALUES ('Sem id', 'sem.id@pg.com') RETURNING id", Long.class);
+
+            // Then
+            assertThat(id % 50).isZero();
+        }
+
+        @Test
+        @DisplayName("V5 deve interromper a migração listando as reservas que disputam um horário")
+        void slotMigrationShouldFailListingDuplicates() {
+            // Given
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    POSTGRES.getJdbcUrl() + "&currentSchema=slots", POSTGRES.getUsername(), POSTGRES.getPassword());
+            String[] locations = {"classpath:db/migration/common", "classpath:db/migration/postgresql"};
+            Flyway.configure().dataSource(dataSource).schemas("slots").locations(locations).target("4").load().migrate();
+            JdbcTemplate database = new JdbcTemplate(dataSource);
+            database.update("INSERT INTO patient (id, name, email) VALUES (1, 'A', 'a@test.com'), (2, 'B', 'b@test.com')");
+            database.update("INSERT INTO professional (id, name, email) VALUES (1, 'P', 'p@test.com')");
+            String insert = "INSERT INTO consults (id, patient, professional, local_date, local_time, status) VALUES (?, ?, 1, ?, ?, ?)";
+            database.update(insert, 1, 1, FIRST_DAY, LocalTime.of(10, 0), "CANCELLED");
+            database.update(insert, 2, 1, FIRST_DAY, LocalTime.of(10, 0), "SCHEDULED");
+            database.update(insert, 3, 2, FIRST_DAY, LocalTime.of(10, 0), "SCHEDULED");
+
+            // When / Then
+            assertThatThrownBy(() -> Flyway.configure().dataSource(dataSource).schemas("slots").locations(locations)
+                    .load().migrate())
+                    .hasMessageContaining("Active consults share a patient or professional slot: 3 (slot of 2)");
+            assertThat(database.queryForList("SELECT status FROM consults ORDER BY id", String.class))
+                    .containsExactly("CANCELLED", "SCHEDULED", "SCHEDULED");
+            database.execute("DROP SCHEMA slots CASCADE");
+        }
+    }
+
+    @Nested
+    @DisplayName("Planos de execução")
+    class QueryPlanTests {
+
+        @Test
+        @DisplayName("A agenda ativa do profissional deve usar o índice único parcial")
+        void activeAgendaUsesPartialIndex() {
+            // When
+            String plan = plan("SELECT c.id, c.local_date, c.local_time FROM consults c WHERE c.professional = " + (FIRST_ID + 3)
+                    + " AND c.local_date BETWEEN '" + FIRST_DAY + "' AND '" + FIRST_DAY.plusDays(7) + "'"
+                    + " AND c.status <> 'CANCELLED'");
+
+            // Then
+            assertThat(plan).contains("uk_consults_professional_slot");
+        }
+
+        @Test
+        @DisplayName("A busca textual deve usar o índice GIN de reason_tsv")
+        void textSearchUsesGinIndex() {
+            // When
+            String plan = plan("SELECT c.id FROM consults c, websearch_to_tsquery('portuguese', 'retorno') AS q(query)"
+                    + " WHERE c.reason_tsv @@ q.query");
+
+            // Then
+            assertThat(plan).contains("idx_consults_reason_tsv").doesNotContain("Seq Scan on consults");
+        }
+    }
+
+    @Nested
+    @DisplayName("Gateways")
+    class GatewayTests {
+
+        @Test
+        @DisplayName("searchByText deve encontrar as consultas pelo texto do motivo")
+        void searchByTextUsesFullTextSearch() {
+            // When
+            List<Consult> consults = findByGateway.searchByText("retornos", null, null, 100,
+                    EnumSet.of(ConsultField.REASON)).getConsults();
+
+            // Then
+            assertThat(consults).hasSize(40)
+                    .allSatisfy(consult -> assertThat(consult.getReason()).isEqualTo("Retorno pós-operatório"));
+        }
+
+        @Test
+        @DisplayName("updateStatus deve alterar e devolver as consultas pelo UPDATE ... RETURNING")
+        void updateStatusUsesUpdateReturning() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder()
+                    .professionalEmail("profissional4@pg.com")
+                    .status(ConsultStatus.SCHEDULED)
+                    .build();
+
+            // When
+            List<Consult> updated = updateGateway.updateStatus(filter, ConsultStatus.CARRIED_OUT);
+
+            // Then
+            assertThat(updated).isNotEmpty()
+                    .allSatisfy(consult -> {
+                        assertThat(consult.getStatus()).isEqualTo(ConsultStatus.CARRIED_OUT);
+                        assertThat(consult.getProfessional().getEmail()).isEqualTo("profissional4@pg.com");
+                    });
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM consults WHERE professional = ? AND status = ?",
+                    Integer.class, FIRST_ID + 4, ConsultStatus.SCHEDULED.name())).isZero();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.fiap.easyconsult.integration.persistence;
+
+import com.fiap.easyconsult.EasyconsultMain;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.outputport.FindByGateway;
+import com.fiap.easyconsult.infra.adapter.gateway.ConsultOccupancyIndex;
+import com.fiap.easyconsult.infra.persistence.repository.ConsultRepository;
+import com.fiap.easyconsult.integration.config.TestConfig;
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que as queries geradas pelos gateways e repositórios usam os índices criados pelas
+ * migrações. O SQL é capturado do próprio Hibernate e passado ao EXPLAIN do banco de teste (H2).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.fiap.easyconsult.integration.persistence.QueryPlanTest$RecordingStatementInspector")
+@ContextConfiguration(classes = {EasyconsultMain.class, TestConfig.class})
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Query Plan Tests")
+class QueryPlanTest {
+
+    // Marca do H2 para leitura da tabela inteira
+    private static final String TABLE_SCAN = "TABLESCAN";
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConsultRepository consultRepository;
+
+    @Autowired
+    @Qualifier("findByGatewayImpl")
+    private FindByGateway findByGateway;
+
+    @Autowired
+    private ConsultOccupancyIndex consultOccupancyIndex;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.batchUpdate("INSERT INTO patient (id, name, email) VALUES (?, ?, ?)",
+                rows(200, i -> new Object[]{i, "Paciente " + i, "paciente" + i + "@plan.com"}));
+        jdbcTemplate.batchUpdate("INSERT INTO professional (id, name, email) VALUES (?, ?, ?)",
+                rows(20, i -> new Object[]{i, "Profissional " + i, "profissional" + i + "@plan.com"}));
+        ConsultStatus[] statuses = ConsultStatus.values();
+        jdbcTemplate.batchUpdate("INSERT INTO consults (id, patient, professional, local_date, local_time, reason, status)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows(4000, i -> new Object[]{i, i % 200, i % 20, FIRST_DAY.plusDays(i % 60),
+                        // Um horário por consulta, para não ferir os índices únicos de agenda
+                        LocalTime.ofSecondOfDay(i * 15L), "Consulta " + i, statuses[i % statuses.length].name()}));
+        RecordingStatementInspector.clear();
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    /**
+     * Plano do último SELECT executado pelo Hibernate sobre a tabela de consultas.
+     */
+    private String planOfLastConsultQuery() {
+        String sql = RecordingStatementInspector.lastSelectFrom("consults");
+        assertThat(sql).as("SQL capturado do Hibernate").isNotNull();
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // O plano do H2 não depende dos valores dos parâmetros
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1).toUpperCase(Locale.ROOT);
+                }
+            }
+        });
+    }
+
+    @Nested
+    @DisplayName("Busca por participante")
+    class ParticipantLookupTests {
+
+        @Test
+        @DisplayName("findAllByPatientEmail deve buscar o paciente pelo índice de email, sem varrer as consultas")
+        void findAllByPatientEmailUsesIndexes() {
+            // When
+            consultRepository.findAllByPatientEmail("paciente7@plan.com");
+            String plan = planOfLastConsultQuery();
+
+            // Then
+            assertThat(plan).contains("UK_PATIENT_EMAIL").doesNotContain(TABLE_SCAN);
+        }
+
+        @Test
+        @DisplayName("Filtro por professionalEmail deve usar o índice de email, sem varrer as consultas")
+        void professionalFilterUsesIndexes() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder()
+                    .professionalEmail("profissional3@plan.com")
+                    .dateFrom(FIRST_DAY)
+                    .dateTo(FIRST_DAY.plusDays(7))
+                    .build();
+
+            // When
+            findByGateway.findPage(filter, null, 20, EnumSet.noneOf(ConsultField.class));
+            String plan = planOfLastConsultQuery();
+
+            // Then
+            assertThat(plan).contains("UK_PROFESSIONAL_EMAIL").doesNotContain(TABLE_SCAN);
+        }
+
+        @Test
+        @DisplayName("Ocupação da agenda deve usar o índice de email, sem varrer as consultas")
+        void occupancyUsesProfessionalIndex() {
+            // When
+            consultOccupancyIndex.occupancy("profissional5@plan.com", FIRST_DAY, FIRST_DAY.plusDays(3));
+            String plan = planOfLastConsultQuery();
+
+            // Then
+            assertThat(plan).contains("UK_PROFESSIONAL_EMAIL").doesNotContain(TABLE_SCAN);
+        }
+    }
+
+    @Nested
+    @DisplayName("Listagem por status e data")
+    class StatusAndDateTests {
+
+        @Test
+        @DisplayName("Filtro por status deve usar o índice de status, data e horário")
+        void statusFilterUsesStatusIndex() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder()
+                    .status(ConsultStatus.SCHEDULED)
+                    .dateFrom(FIRST_DAY.plusDays(10))
+                    .build();
+
+            // When
+            findByGateway.findPage(filter, null, 20, EnumSet.noneOf(ConsultField.class));
+            String plan = planOfLastConsultQuery();
+
+            // Then
+            assertThat(plan).contains("IDX_CONSULTS_STATUS_DATE_TIME_ID").doesNotContain(TABLE_SCAN);
+        }
+
+        @Test
+        @DisplayName("Filtro por data deve usar o índice de data e horário")
+        void dateFilterUsesDateIndex() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder()
+                    .date(FIRST_DAY.plusDays(2))
+                    .build();
+
+            // When
+            findByGateway.findPage(filter, null, 20, EnumSet.noneOf(ConsultField.class));
+            String plan = planOfLastConsultQuery();
+
+            // Then
+            assertThat(plan).contains("IDX_CONSULTS_DATE_TIME_ID").doesNotContain(TABLE_SCAN);
+        }
+    }
+
+    @Nested
+    @DisplayName("Baseline de bancos existentes")
+    class BaselineTests {
+
+        @Test
+        @DisplayName("Banco criado pelo ddl-auto e baselined na V1 deve receber os índices das listagens")
+        void baselinedDatabaseGetsQueryIndexes() {
+            // Given
+            DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:baselined;DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate database = new JdbcTemplate(dataSource);
+            database.execute("CREATE TABLE patient (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255), email VARCHAR(255))");
+            database.execute("CREATE TABLE professional (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255), email VARCHAR(255))");
+            database.execute("CREATE TABLE consults (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, patient BIGINT REFERENCES patient (id),"
+                    + " professional BIGINT REFERENCES professional (id), local_time TIME, local_date DATE, reason VARCHAR(255), status VARCHAR(255))");
+
+            // When
+            Flyway.configure().dataSource(dataSource)
+                    .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                    .baselineOnMigrate(true).baselineVersion("1")
+                    .load().migrate();
+
+            // Then
+            assertThat(database.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'CONSULTS'", String.class))
+                    .contains("IDX_CONSULTS_DATE_TIME_ID", "IDX_CONSULTS_STATUS_DATE_TIME_ID",
+                            "IDX_CONSULTS_PROFESSIONAL_DATE_TIME", "IDX_CONSULTS_PATIENT_DATE_TIME");
+            database.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    /**
+     * Guarda o SQL gerado pelo Hibernate para que o teste possa pedir o plano das mesmas queries.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static String lastSelectFrom(String table) {
+            synchronized (STATEMENTS) {
+                for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                    String sql = STATEMENTS.get(i).toLowerCase(Locale.ROOT);
+                    if (sql.startsWith("select") && sql.contains(" from " + table)) {
+                        return STATEMENTS.get(i);
+                    }
+                }
+                return null;
+            }
+        }
+    }
+}
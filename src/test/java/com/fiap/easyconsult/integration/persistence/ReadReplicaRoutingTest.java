@@ -0,0 +1,83 @@
+package com.fiap.easyconsult.integration.persistence;
+
+import com.fiap.easyconsult.EasyconsultMain;
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.DayOccupancy;
+import com.fiap.easyconsult.core.outputport.FindByGateway;
+import com.fiap.easyconsult.core.outputport.SaveGateway;
+import com.fiap.easyconsult.integration.config.TestConfig;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Réplica com o mesmo schema e sem dados: o que for lido dela aparece vazio
+@SpringBootTest(properties = {
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replicas.read-your-writes=false"
+})
+@ContextConfiguration(classes = {EasyconsultMain.class, TestConfig.class})
+@ActiveProfiles("test")
+// Sem @Transactional: a consulta precisa estar gravada no primário antes das leituras
+@DirtiesContext
+@DisplayName("Read Replica Routing Tests")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:occupancy-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private SaveGateway saveGateway;
+
+    @Autowired
+    private FindByGateway findByGateway;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "password")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load().migrate();
+    }
+
+    @Test
+    @DisplayName("Deve carregar a ocupação do dia do primário mesmo com réplicas saudáveis")
+    void shouldLoadOccupancyFromPrimary() {
+        // Given
+        LocalDate date = LocalDate.now().plusDays(7);
+        saveGateway.save(Consult.builder()
+                .reason("Retorno")
+                .dateTime(date, LocalTime.of(9, 0))
+                .patient(Patient.builder().name("Paciente Réplica").email("paciente.replica@email.com").build())
+                .professional(Professional.builder().name("Dr. Réplica").email("dr.replica@hospital.com").build())
+                .build());
+
+        // When
+        Map<LocalDate, DayOccupancy> occupancy = findByGateway.findOccupancy("dr.replica@hospital.com", date, date);
+
+        // Then
+        ConsultFilter filter = ConsultFilter.builder().professionalEmail("dr.replica@hospital.com").build();
+        assertThat(findByGateway.findPage(filter, null, 10, EnumSet.noneOf(ConsultField.class)).getConsults())
+                .as("leituras comuns continuam indo para a réplica")
+                .isEmpty();
+        assertThat(occupancy.get(date).freeSlots(LocalTime.of(8, 0), 30))
+                .as("o horário gravado no primário aparece ocupado")
+                .doesNotContain(LocalTime.of(9, 0))
+                .contains(LocalTime.of(8, 0), LocalTime.of(9, 30));
+    }
+}
@@ -5,6 +5,7 @@ import com.fiap.easyconsult.core.domain.model.*;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
 import com.fiap.easyconsult.core.inputport.ConsultCommandUseCase;
 import com.fiap.easyconsult.core.inputport.ConsultQueryUseCase;
+import com.fiap.easyconsult.core.usecase.ConsultQueryUseCases;
 import com.fiap.easyconsult.integration.config.TestConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -168,7 +169,7 @@ class ConsultUseCasesIntegrationTest {
                     .status(ConsultStatus.SCHEDULED)
                     .build();
 
-            consultCommandUseCase.createConsult(consult);
+            Consult createdConsult = consultCommandUseCase.createConsult(consult);
 
             ConsultFilter filter = ConsultFilter.builder()
                     .patientEmail(testPatient.getEmail())
@@ -177,7 +178,7 @@ class ConsultUseCasesIntegrationTest {
                     .build();
 
             // When
-            List<Consult> filteredConsults = consultQueryUseCase.findWithFilters(filter);
+            List<Consult> filteredConsults = consultQueryUseCase.findPage(filter, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults();
 
             // Then
             assertNotNull(filteredConsults);
@@ -185,8 +186,9 @@ class ConsultUseCasesIntegrationTest {
             
             Consult foundConsult = filteredConsults.get(0);
             assertEquals("Filterable consult", foundConsult.getReason());
-            assertEquals(testPatient.getEmail(), foundConsult.getPatient().getEmail());
-            assertEquals(testProfessional.getEmail(), foundConsult.getProfessional().getEmail());
+            // Pages carry participant ids; names and emails are loaded per field
+            assertEquals(createdConsult.getPatient().getId(), foundConsult.getPatient().getId());
+            assertEquals(createdConsult.getProfessional().getId(), foundConsult.getProfessional().getId());
             assertEquals(ConsultStatus.SCHEDULED, foundConsult.getStatus());
         }
 
@@ -207,21 +209,21 @@ class ConsultUseCasesIntegrationTest {
                     .status(ConsultStatus.SCHEDULED)
                     .build();
 
-            consultCommandUseCase.createConsult(consult);
+            Consult createdConsult = consultCommandUseCase.createConsult(consult);
 
             ConsultFilter filter = ConsultFilter.builder()
                     .patientEmail(specificPatient.getEmail())
                     .build();
 
             // When
-            List<Consult> filteredConsults = consultQueryUseCase.findWithFilters(filter);
+            List<Consult> filteredConsults = consultQueryUseCase.findPage(filter, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults();
 
             // Then
             assertNotNull(filteredConsults);
             assertFalse(filteredConsults.isEmpty());
             
             filteredConsults.forEach(c -> 
-                assertEquals(specificPatient.getEmail(), c.getPatient().getEmail())
+                assertEquals(createdConsult.getPatient().getId(), c.getPatient().getId())
             );
         }
 
@@ -240,7 +242,7 @@ class ConsultUseCasesIntegrationTest {
             Consult createdConsult = consultCommandUseCase.createConsult(consult);
 
             // When
-            List<Consult> allConsults = consultQueryUseCase.findAll();
+            List<Consult> allConsults = consultQueryUseCase.findPage(null, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults();
 
             // Then
             assertNotNull(allConsults);
@@ -265,19 +267,14 @@ class ConsultUseCasesIntegrationTest {
                     .build();
 
             // When & Then
-            assertThrows(Exception.class, () -> {
-                consultQueryUseCase.findWithFilters(nonExistentFilter);
-            });
+            assertTrue(consultQueryUseCase.findPage(nonExistentFilter, null, ConsultQueryUseCases.MAX_PAGE_SIZE).isEmpty());
         }
 
         @Test
         @DisplayName("Should handle empty consults list")
         void shouldHandleEmptyConsultsList() {
             // When & Then - Test with fresh database (no consults created)
-            // This might pass or fail depending on test isolation and cleanup
-            assertThrows(Exception.class, () -> {
-                consultQueryUseCase.findAll();
-            });
+            assertTrue(consultQueryUseCase.findPage(null, null, ConsultQueryUseCases.MAX_PAGE_SIZE).isEmpty());
         }
     }
 
@@ -336,7 +333,7 @@ class ConsultUseCasesIntegrationTest {
                     .patientEmail(samePatient.getEmail())
                     .build();
 
-            List<Consult> patientConsults = consultQueryUseCase.findWithFilters(patientFilter);
+            List<Consult> patientConsults = consultQueryUseCase.findPage(patientFilter, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults();
             assertEquals(2, patientConsults.size());
         }
     }
@@ -5,6 +5,7 @@ import com.fiap.easyconsult.core.domain.model.*;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
 import com.fiap.easyconsult.core.inputport.ConsultCommandUseCase;
 import com.fiap.easyconsult.core.inputport.ConsultQueryUseCase;
+import com.fiap.easyconsult.core.usecase.ConsultQueryUseCases;
 import com.fiap.easyconsult.integration.config.TestConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -94,7 +95,7 @@ class ConsultUseCasesIntegrationTest2 {
             assertEquals("Consulta de integração completa", createdConsult.getReason());
 
             // 2. Buscar consultas (deve incluir a criada)
-            List<Consult> allConsults = consultQueryUseCase.findAll();
+            List<Consult> allConsults = consultQueryUseCase.findPage(null, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults();
             assertNotNull(allConsults);
             assertTrue(allConsults.size() >= 1);
             
@@ -123,8 +124,8 @@ class ConsultUseCasesIntegrationTest2 {
             Long consultId = createdConsult.getId().getValue();
             assertDoesNotThrow(() -> consultCommandUseCase.deleteConsult(consultId));
 
-            // Nota: Não podemos verificar se foi deletada porque findAll pode lançar exceção
-            // quando não há consultas, dependendo da implementação do use case
+            assertTrue(consultQueryUseCase.findPage(null, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults().stream()
+                    .noneMatch(c -> c.getId().getValue().equals(consultId)));
         }
 
         @Test
@@ -144,21 +145,22 @@ class ConsultUseCasesIntegrationTest2 {
                     .status(status)
                     .build();
 
-            consultCommandUseCase.createConsult(consult);
+            Consult createdConsult = consultCommandUseCase.createConsult(consult);
 
             // When: Filtrar por email do paciente
             ConsultFilter filter = new ConsultFilter(
                     null, "paciente.especifico@email.com", null, null, null, null
             );
 
-            List<Consult> filteredConsults = consultQueryUseCase.findWithFilters(filter);
+            List<Consult> filteredConsults = consultQueryUseCase.findPage(filter, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults();
 
             // Then: Deve retornar apenas consultas do paciente específico
             assertNotNull(filteredConsults);
             assertTrue(filteredConsults.size() >= 1);
             
+            // A página traz o id do paciente; nome e email são carregados por campo
             filteredConsults.forEach(c -> 
-                assertEquals("paciente.especifico@email.com", c.getPatient().getEmail())
+                assertEquals(createdConsult.getPatient().getId(), c.getPatient().getId())
             );
         }
 
@@ -185,21 +187,21 @@ class ConsultUseCasesIntegrationTest2 {
                     .status(status)
                     .build();
 
-            consultCommandUseCase.createConsult(consult);
+            Consult createdConsult = consultCommandUseCase.createConsult(consult);
 
             // When: Filtrar por email do profissional
             ConsultFilter filter = new ConsultFilter(
                     null, null, "dr.especifico@hospital.com", null, null, null
             );
 
-            List<Consult> filteredConsults = consultQueryUseCase.findWithFilters(filter);
+            List<Consult> filteredConsults = consultQueryUseCase.findPage(filter, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults();
 
             // Then: Deve retornar apenas consultas do profissional específico
             assertNotNull(filteredConsults);
             assertTrue(filteredConsults.size() >= 1);
             
             filteredConsults.forEach(c -> 
-                assertEquals("dr.especifico@hospital.com", c.getProfessional().getEmail())
+                assertEquals(createdConsult.getProfessional().getId(), c.getProfessional().getId())
             );
         }
     }
@@ -286,29 +288,15 @@ class ConsultUseCasesIntegrationTest2 {
                     null, "email.inexistente@domain.com", null, null, null, null
             );
 
-            // When & Then: Deve lançar exceção específica ou retornar lista vazia
-            // Dependendo da implementação do use case
-            assertThrows(Exception.class, () -> {
-                consultQueryUseCase.findWithFilters(filter);
-            });
+            // When & Then: Deve retornar uma página vazia
+            assertTrue(consultQueryUseCase.findPage(filter, null, ConsultQueryUseCases.MAX_PAGE_SIZE).isEmpty());
         }
 
         @Test
         @DisplayName("Deve lidar com busca geral quando não há consultas")
         void shouldHandleFindAllWhenNoConsults() {
-            // Nota: Este teste pode falhar se já existirem consultas de outros testes
-            // ou se o use case não lança exceção quando não há resultados
-            
-            // When & Then: Dependendo da implementação, pode lançar exceção
-            // quando não há consultas
-            try {
-                List<Consult> consults = consultQueryUseCase.findAll();
-                // Se não lançar exceção, deve pelo menos retornar lista não nula
-                assertNotNull(consults);
-            } catch (Exception e) {
-                // Aceitar exceção como comportamento válido para "nenhuma consulta encontrada"
-                assertNotNull(e);
-            }
+            // When & Then: Uma página sem consultas não é erro
+            assertNotNull(consultQueryUseCase.findPage(null, null, ConsultQueryUseCases.MAX_PAGE_SIZE).getConsults());
         }
     }
 }
@@ -0,0 +1,164 @@
+package com.fiap.easyconsult.unit.config;
+
+import com.fiap.easyconsult.infra.config.PersistedDocumentProvider;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PersistedDocumentProvider Tests")
+class PersistedDocumentProviderTest {
+
+    private static final String QUERY = "query { getAllConsults { edges { cursor } } }";
+    private static final String ALLOWED = "query Allowed { getAllConsults { pageInfo { hasNextPage } } }";
+
+    private AtomicInteger parseCount;
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+
+    @BeforeEach
+    void setUp() {
+        parseCount = new AtomicInteger();
+        parseAndValidate = input -> {
+            parseCount.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+    }
+
+    private PreparsedDocumentEntry resolve(PersistedDocumentProvider provider, String query, String hash) {
+        ExecutionInput.Builder input = ExecutionInput.newExecutionInput().query(query == null ? "PersistedQueryMarker" : query);
+        if (hash != null) {
+            input.extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+        }
+        return provider.getDocumentAsync(input.build(), parseAndValidate).join();
+    }
+
+    private String code(PreparsedDocumentEntry entry) {
+        return (String) entry.getErrors().get(0).getExtensions().get("code");
+    }
+
+    @Nested
+    @DisplayName("Document Cache Tests")
+    class DocumentCacheTests {
+
+        @Test
+        @DisplayName("Should parse and validate a repeated query only once")
+        void shouldParseRepeatedQueryOnce() {
+            // Given
+            PersistedDocumentProvider provider = new PersistedDocumentProvider(10, Map.of(), false);
+
+            // When
+            PreparsedDocumentEntry first = resolve(provider, QUERY, null);
+            PreparsedDocumentEntry second = resolve(provider, QUERY, null);
+
+            // Then
+            assertFalse(first.hasErrors());
+            assertSame(first, second);
+            assertEquals(1, parseCount.get());
+        }
+
+        @Test
+        @DisplayName("Should not cache documents that failed validation")
+        void shouldNotCacheInvalidDocuments() {
+            // Given
+            PersistedDocumentProvider provider = new PersistedDocumentProvider(10, Map.of(), false);
+            parseAndValidate = input -> {
+                parseCount.incrementAndGet();
+                return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid").build());
+            };
+
+            // When
+            resolve(provider, QUERY, null);
+            resolve(provider, QUERY, null);
+
+            // Then
+            assertEquals(2, parseCount.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Automatic Persisted Query Tests")
+    class AutomaticPersistedQueryTests {
+
+        @Test
+        @DisplayName("Should register a hash with its query and then serve hash-only requests")
+        void shouldRegisterAndServeByHash() {
+            // Given
+            PersistedDocumentProvider provider = new PersistedDocumentProvider(10, Map.of(), false);
+            String hash = PersistedDocumentProvider.sha256(QUERY);
+
+            // When
+            PreparsedDocumentEntry miss = resolve(provider, null, hash);
+            PreparsedDocumentEntry registered = resolve(provider, QUERY, hash);
+            PreparsedDocumentEntry hit = resolve(provider, null, hash);
+
+            // Then
+            assertEquals("PersistedQueryNotFound", miss.getErrors().get(0).getMessage());
+            assertFalse(registered.hasErrors());
+            assertSame(registered, hit);
+            assertEquals(1, parseCount.get());
+        }
+
+        @Test
+        @DisplayName("Should reject a hash that does not match the query text")
+        void shouldRejectHashMismatch() {
+            // Given
+            PersistedDocumentProvider provider = new PersistedDocumentProvider(10, Map.of(), false);
+
+            // When
+            PreparsedDocumentEntry entry = resolve(provider, QUERY, PersistedDocumentProvider.sha256(ALLOWED));
+
+            // Then
+            assertEquals("PERSISTED_QUERY_HASH_MISMATCH", code(entry));
+            assertEquals(0, parseCount.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Allowlist Tests")
+    class AllowlistTests {
+
+        @Test
+        @DisplayName("Should reject ad-hoc queries without parsing them")
+        void shouldRejectAdHocQueries() {
+            // Given
+            PersistedDocumentProvider provider = new PersistedDocumentProvider(10,
+                    Map.of(PersistedDocumentProvider.sha256(ALLOWED), ALLOWED), true);
+
+            // When
+            PreparsedDocumentEntry byText = resolve(provider, QUERY, null);
+            PreparsedDocumentEntry byHash = resolve(provider, QUERY, PersistedDocumentProvider.sha256(QUERY));
+
+            // Then
+            assertEquals("PERSISTED_QUERY_NOT_ALLOWED", code(byText));
+            assertEquals("PERSISTED_QUERY_NOT_ALLOWED", code(byHash));
+            assertEquals(0, parseCount.get());
+        }
+
+        @Test
+        @DisplayName("Should serve allowlisted operations by hash without prior registration")
+        void shouldServeAllowlistedOperationsByHash() {
+            // Given
+            PersistedDocumentProvider provider = new PersistedDocumentProvider(10,
+                    Map.of(PersistedDocumentProvider.sha256(ALLOWED), ALLOWED), true);
+
+            // When
+            PreparsedDocumentEntry byHash = resolve(provider, null, PersistedDocumentProvider.sha256(ALLOWED));
+            PreparsedDocumentEntry byText = resolve(provider, ALLOWED, null);
+
+            // Then
+            assertFalse(byHash.hasErrors());
+            assertSame(byHash, byText);
+            assertEquals(1, parseCount.get());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.fiap.easyconsult.unit.config;
+
+import com.fiap.easyconsult.infra.config.AuthenticationScopeInterceptor;
+import com.fiap.easyconsult.infra.config.QueryCostInstrumentation;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryCostInstrumentation Tests")
+class QueryCostInstrumentationTest {
+
+    private static final String PAGE_QUERY = """
+            query($first: Int) {
+              getAllConsults(first: $first) {
+                edges { node { id date patient { name email } } }
+                pageInfo { hasNextPage endCursor }
+              }
+            }
+            """;
+
+    private GraphQLSchema schema;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String sdl;
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("graphql/schema.graphqls")) {
+            sdl = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .scalar(ExtendedScalars.LocalTime)
+                .scalar(ExtendedScalars.Date)
+                .build();
+        schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), wiring);
+        graphQL = graphQL(5);
+    }
+
+    private GraphQL graphQL(int maxDepth) {
+        QueryCostInstrumentation instrumentation = new QueryCostInstrumentation(
+                Map.of("medico", 2500, "paciente", 500), 100, maxDepth, 20);
+        return GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+    }
+
+    private ExecutionResult execute(String query, Map<String, Object> variables, List<String> scopes) {
+        return graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .variables(variables)
+                .graphQLContext(Map.of(AuthenticationScopeInterceptor.SCOPES_KEY, scopes))
+                .build());
+    }
+
+    private String code(ExecutionResult result) {
+        return result.getErrors().isEmpty() ? null : (String) result.getErrors().get(0).getExtensions().get("code");
+    }
+
+    @Nested
+    @DisplayName("Cost Budget Tests")
+    class CostBudgetTests {
+
+        @Test
+        @DisplayName("Should accept a page within the scope budget")
+        void shouldAcceptPageWithinBudget() {
+            // When
+            ExecutionResult result = execute(PAGE_QUERY, Map.of("first", 20), List.of("paciente"));
+
+            // Then
+            assertTrue(result.getErrors().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should weight list fields by the requested page size")
+        void shouldRejectLargePageOverBudget() {
+            // When
+            ExecutionResult paciente = execute(PAGE_QUERY, Map.of("first", 100), List.of("paciente"));
+            ExecutionResult medico = execute(PAGE_QUERY, Map.of("first", 100), List.of("medico"));
+
+            // Then
+            assertEquals("QUERY_TOO_EXPENSIVE", code(paciente));
+            assertNull(paciente.getData());
+            assertTrue(medico.getErrors().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should weight list fields by the limit inside the filter argument")
+        void shouldUseLimitFromFilter() {
+            // Given
+            String query = """
+                    query($limit: Int) {
+                      getFilteredConsults(filter: {limit: $limit}, first: 100) {
+                        edges { node { id date patient { name email } } }
+                      }
+                    }
+                    """;
+            Map<String, Object> noLimit = new HashMap<>();
+            noLimit.put("limit", null);
+
+            // When
+            ExecutionResult limited = execute(query, Map.of("limit", 5), List.of("paciente"));
+            ExecutionResult unlimited = execute(query, noLimit, List.of("paciente"));
+
+            // Then
+            assertTrue(limited.getErrors().isEmpty());
+            assertEquals("QUERY_TOO_EXPENSIVE", code(unlimited));
+        }
+
+        @Test
+        @DisplayName("Should use the default budget when no known scope is present")
+        void shouldUseDefaultBudgetForUnknownScopes() {
+            // When
+            ExecutionResult result = execute(PAGE_QUERY, Map.of("first", 20), List.of());
+
+            // Then
+            assertEquals("QUERY_TOO_EXPENSIVE", code(result));
+        }
+    }
+
+    @Nested
+    @DisplayName("Depth Limit Tests")
+    class DepthLimitTests {
+
+        @Test
+        @DisplayName("Should reject operations deeper than the maximum depth")
+        void shouldRejectDeepOperations() {
+            // Given
+            graphQL = graphQL(4);
+
+            // When
+            ExecutionResult result = execute(PAGE_QUERY, Map.of("first", 20), List.of("medico"));
+
+            // Then
+            assertEquals("QUERY_TOO_DEEP", code(result));
+        }
+
+        @Test
+        @DisplayName("Should not count introspection fields")
+        void shouldIgnoreIntrospection() {
+            // Given
+            String introspection = "query { __schema { types { fields { type { ofType { ofType { name } } } } } } }";
+
+            // When
+            ExecutionResult result = execute(introspection, Map.of(), List.of());
+
+            // Then
+            assertTrue(result.getErrors().isEmpty());
+        }
+    }
+}
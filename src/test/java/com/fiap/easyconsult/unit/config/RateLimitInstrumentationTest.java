@@ -0,0 +1,202 @@
+package com.fiap.easyconsult.unit.config;
+
+import com.fiap.easyconsult.infra.config.AuthenticationScopeInterceptor;
+import com.fiap.easyconsult.infra.config.RateLimitInstrumentation;
+import com.fiap.easyconsult.infra.config.RateLimiter;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.language.OperationDefinition.Operation;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitInstrumentation Tests")
+class RateLimitInstrumentationTest {
+
+    private static final String SDL = """
+            type Query { ping: String }
+            type Mutation { touch: String }
+            """;
+
+    private final AtomicLong clock = new AtomicLong();
+    private RateLimiter rateLimiter;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter(null, clock::get, Duration.ofMinutes(1), 1000);
+        RateLimitInstrumentation instrumentation = new RateLimitInstrumentation(rateLimiter,
+                Map.of("medico", Map.of(Operation.QUERY, 3, Operation.MUTATION, 1),
+                        "paciente", Map.of(Operation.QUERY, 2, Operation.MUTATION, 1)),
+                Map.of(Operation.QUERY, 1, Operation.MUTATION, 0));
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(
+                new SchemaParser().parse(SDL), RuntimeWiring.newRuntimeWiring().build());
+        graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+    }
+
+    private ExecutionResult execute(String query, String subject, List<String> scopes) {
+        return graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .graphQLContext(Map.of(
+                        AuthenticationScopeInterceptor.SUBJECT_KEY, subject,
+                        AuthenticationScopeInterceptor.SCOPES_KEY, scopes))
+                .build());
+    }
+
+    private String code(ExecutionResult result) {
+        return result.getErrors().isEmpty() ? null : (String) result.getErrors().get(0).getExtensions().get("code");
+    }
+
+    @Nested
+    @DisplayName("Limit Tests")
+    class LimitTests {
+
+        @Test
+        @DisplayName("Should reject operations beyond the scope limit")
+        void shouldRejectBeyondScopeLimit() {
+            // When
+            List<ExecutionResult> results = IntStream.range(0, 4)
+                    .mapToObj(i -> execute("{ ping }", "medico@test.com", List.of("medico")))
+                    .toList();
+
+            // Then
+            assertTrue(results.subList(0, 3).stream().allMatch(result -> result.getErrors().isEmpty()));
+            ExecutionResult rejected = results.get(3);
+            assertEquals("RATE_LIMITED", code(rejected));
+            assertNull(rejected.getData());
+            assertEquals(3, rejected.getErrors().get(0).getExtensions().get("limit"));
+            assertEquals(20L, rejected.getErrors().get(0).getExtensions().get("retryAfterSeconds"));
+        }
+
+        @Test
+        @DisplayName("Should keep separate buckets per operation type")
+        void shouldKeepSeparateBucketsPerOperation() {
+            // Given
+            execute("mutation { touch }", "medico@test.com", List.of("medico"));
+
+            // When
+            ExecutionResult mutation = execute("mutation { touch }", "medico@test.com", List.of("medico"));
+            ExecutionResult query = execute("{ ping }", "medico@test.com", List.of("medico"));
+
+            // Then
+            assertEquals("RATE_LIMITED", code(mutation));
+            assertNull(code(query));
+        }
+
+        @Test
+        @DisplayName("Should keep separate buckets per subject")
+        void shouldKeepSeparateBucketsPerSubject() {
+            // Given
+            execute("{ ping }", "paciente@test.com", List.of("paciente"));
+            execute("{ ping }", "paciente@test.com", List.of("paciente"));
+
+            // When
+            ExecutionResult sameSubject = execute("{ ping }", "paciente@test.com", List.of("paciente"));
+            ExecutionResult otherSubject = execute("{ ping }", "outro@test.com", List.of("paciente"));
+
+            // Then
+            assertEquals("RATE_LIMITED", code(sameSubject));
+            assertNull(code(otherSubject));
+        }
+
+        @Test
+        @DisplayName("Should use the most generous scope and fall back to the default limits")
+        void shouldUseMostGenerousScope() {
+            // When
+            ExecutionResult unknownScope = execute("mutation { touch }", "user@test.com", List.of("integracao"));
+            List<ExecutionResult> bothScopes = IntStream.range(0, 3)
+                    .mapToObj(i -> execute("{ ping }", "ambos@test.com", List.of("paciente", "medico")))
+                    .toList();
+
+            // Then
+            assertEquals("RATE_LIMITED", code(unknownScope));
+            assertTrue(bothScopes.stream().allMatch(result -> result.getErrors().isEmpty()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Token Bucket Tests")
+    class TokenBucketTests {
+
+        @Test
+        @DisplayName("Should refill one token per interval")
+        void shouldRefillOverTime() {
+            // Given
+            for (int i = 0; i < 3; i++) {
+                assertTrue(rateLimiter.tryAcquire("key", 3).isZero());
+            }
+            assertEquals(Duration.ofSeconds(20), rateLimiter.tryAcquire("key", 3));
+
+            // When
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+            // Then
+            assertTrue(rateLimiter.tryAcquire("key", 3).isZero());
+            assertFalse(rateLimiter.tryAcquire("key", 3).isZero());
+        }
+
+        @Test
+        @DisplayName("Should not let an idle bucket grow beyond its limit")
+        void shouldCapTokensAtLimit() {
+            // Given
+            rateLimiter.tryAcquire("key", 2);
+            clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+            // When
+            Duration first = rateLimiter.tryAcquire("key", 2);
+            Duration second = rateLimiter.tryAcquire("key", 2);
+            Duration third = rateLimiter.tryAcquire("key", 2);
+
+            // Then
+            assertTrue(first.isZero());
+            assertTrue(second.isZero());
+            assertFalse(third.isZero());
+        }
+
+        @Test
+        @DisplayName("Should hand out exactly the limit under concurrent callers")
+        void shouldHandOutExactlyTheLimitConcurrently() throws Exception {
+            // Given
+            AtomicInteger acquired = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+
+            try {
+                // When
+                List<CompletableFuture<Void>> callers = IntStream.range(0, 8)
+                        .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                            for (int j = 0; j < 100; j++) {
+                                if (rateLimiter.tryAcquire("shared", 250).isZero()) {
+                                    acquired.incrementAndGet();
+                                }
+                            }
+                        }, executor))
+                        .toList();
+                CompletableFuture.allOf(callers.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+                // Then
+                assertEquals(250, acquired.get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
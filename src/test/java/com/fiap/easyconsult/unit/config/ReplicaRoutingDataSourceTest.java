@@ -0,0 +1,253 @@
+package com.fiap.easyconsult.unit.config;
+
+import com.fiap.easyconsult.infra.config.ReplicaRoutingDataSource;
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final DataSource primary = h2("primary");
+    private final FlakyDataSource replicaA = new FlakyDataSource(h2("replica-a"));
+    private final DataSource replicaB = h2("replica-b");
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private ReplicaRoutingDataSource routing(boolean readYourWrites, DataSource... replicas) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            pools.put("replica-" + i, replicas[i]);
+        }
+        return new ReplicaRoutingDataSource(primary, pools, Duration.ofSeconds(10), Duration.ofSeconds(2),
+                readYourWrites, clock::get);
+    }
+
+    private String database(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            return url.substring("jdbc:h2:mem:".length(), url.indexOf(';') > 0 ? url.indexOf(';') : url.length());
+        }
+    }
+
+    private void authenticate(String subject) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(subject, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Health Tests")
+    class HealthTests {
+
+        @Test
+        @DisplayName("Should spread reads over the healthy replicas")
+        void shouldSpreadReadsOverReplicas() throws SQLException {
+            // Given
+            ReplicaRoutingDataSource routing = routing(true, replicaA, replicaB);
+            routing.checkReplicas();
+
+            // When
+            String first = database(routing);
+            String second = database(routing);
+
+            // Then
+            assertEquals(List.of("replica-a", "replica-b"), List.of(first, second).stream().sorted().toList());
+        }
+
+        @Test
+        @DisplayName("Should read from the primary before the first check and when every check fails")
+        void shouldFallBackToPrimaryWhenUnhealthy() throws SQLException {
+            // Given
+            ReplicaRoutingDataSource routing = routing(true, replicaA);
+            String beforeCheck = database(routing);
+            replicaA.failing = true;
+
+            // When
+            routing.checkReplicas();
+
+            // Then
+            assertEquals("primary", beforeCheck);
+            assertEquals("primary", database(routing));
+        }
+
+        @Test
+        @DisplayName("Should skip a replica that refuses a connection until it passes a check again")
+        void shouldSkipReplicaRefusingConnections() throws SQLException {
+            // Given
+            ReplicaRoutingDataSource routing = routing(true, replicaA);
+            routing.checkReplicas();
+            replicaA.failing = true;
+
+            // When
+            String refused = database(routing);
+            replicaA.failing = false;
+            String beforeCheck = database(routing);
+            routing.checkReplicas();
+
+            // Then
+            assertEquals("primary", refused);
+            assertEquals("primary", beforeCheck);
+            assertEquals("replica-a", database(routing));
+        }
+
+        @Test
+        @DisplayName("Should serve connections with explicit credentials from the primary")
+        void shouldUsePrimaryForExplicitCredentials() throws SQLException {
+            // Given
+            ReplicaRoutingDataSource routing = routing(true, replicaA);
+            routing.checkReplicas();
+
+            // When
+            try (Connection connection = routing.getConnection("sa", "")) {
+
+                // Then
+                assertTrue(connection.getMetaData().getURL().startsWith("jdbc:h2:mem:primary"));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Read Your Writes Tests")
+    class ReadYourWritesTests {
+
+        @Test
+        @DisplayName("Should read from the primary after a write until a check shows the replica caught up")
+        void shouldPinWriterToPrimaryUntilReplicaCatchesUp() throws SQLException {
+            // Given
+            ReplicaRoutingDataSource routing = routing(true, replicaA);
+            routing.checkReplicas();
+            clock.addAndGet(500);
+            authenticate("medico@test.com");
+            routing.onConsultChanged(new ConsultChangedEvent(ConsultChangeType.CREATED, null));
+
+            // When
+            String writer = database(routing);
+            authenticate("outro@test.com");
+            String otherSubject = database(routing);
+            authenticate("medico@test.com");
+            clock.addAndGet(500);
+            routing.checkReplicas();
+
+            // Then
+            assertEquals("primary", writer);
+            assertEquals("replica-a", otherSubject);
+            assertEquals("replica-a", database(routing));
+        }
+
+        @Test
+        @DisplayName("Should report only the subject with a recent write as pinned to the primary")
+        void shouldPinOnlyTheWriter() {
+            // Given
+            ReplicaRoutingDataSource routing = routing(true, replicaA);
+            authenticate("medico@test.com");
+
+            // When
+            routing.onConsultChanged(new ConsultChangedEvent(ConsultChangeType.CREATED, null));
+            boolean writer = routing.pinnedToPrimary();
+            authenticate("outro@test.com");
+
+            // Then
+            assertTrue(writer);
+            assertFalse(routing.pinnedToPrimary());
+            assertTrue(ReplicaRoutingDataSource.onPrimary(routing::pinnedToPrimary));
+        }
+
+        @Test
+        @DisplayName("Should keep reading from replicas after a write when disabled")
+        void shouldIgnoreWritesWhenDisabled() throws SQLException {
+            // Given
+            ReplicaRoutingDataSource routing = routing(false, replicaA);
+            routing.checkReplicas();
+            authenticate("medico@test.com");
+            clock.addAndGet(500);
+
+            // When
+            routing.onConsultChanged(new ConsultChangedEvent(ConsultChangeType.CREATED, null));
+
+            // Then
+            assertEquals("replica-a", database(routing));
+        }
+    }
+
+    @Nested
+    @DisplayName("Primary Only Tests")
+    class PrimaryOnlyTests {
+
+        @Test
+        @DisplayName("Should read from the primary inside onPrimary and on the tasks it propagates to")
+        void shouldReadFromPrimaryInsideOnPrimary() throws Exception {
+            // Given
+            ReplicaRoutingDataSource routing = routing(true, replicaA);
+            routing.checkReplicas();
+            Map<String, String> reads = new ConcurrentHashMap<>();
+
+            // When
+            Thread[] tasks = ReplicaRoutingDataSource.onPrimary(() -> {
+                reads.put("caller", read(routing));
+                return new Thread[]{
+                        new Thread(ReplicaRoutingDataSource.propagate(() -> reads.put("propagated", read(routing)))),
+                        new Thread(() -> reads.put("plain", read(routing)))};
+            });
+            for (Thread task : tasks) {
+                task.start();
+                task.join();
+            }
+
+            // Then
+            assertEquals(Map.of("caller", "primary", "propagated", "primary", "plain", "replica-a"), reads);
+            assertEquals("replica-a", database(routing));
+        }
+
+        private String read(DataSource dataSource) {
+            try {
+                return database(dataSource);
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private static class FlakyDataSource extends DelegatingDataSource {
+
+        private volatile boolean failing;
+
+        FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
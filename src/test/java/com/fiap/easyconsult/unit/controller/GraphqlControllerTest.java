@@ -1,6 +1,7 @@
 package com.fiap.easyconsult.unit.controller;
 
 import com.fiap.easyconsult.core.domain.model.*;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
 import com.fiap.easyconsult.core.inputport.ConsultCommandUseCase;
 import com.fiap.easyconsult.core.inputport.ConsultQueryUseCase;
@@ -17,14 +18,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.query.ScrollSubrange;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,13 +57,14 @@ class GraphqlControllerTest {
 
     private Consult validConsult;
     private ConsultResponseDto validResponseDto;
+    private Window<ConsultResponseDto> validWindow;
     private ConsultRequestDto validRequestDto;
     private ConsultFilterRequestDto validFilterDto;
     private ConsultUpdateRequestDto validUpdateDto;
 
     @BeforeEach
     void setUp() {
-        graphqlController = new GraphqlController(consultCommandUseCase, consultQueryUseCase, mapper);
+        graphqlController = new GraphqlController(consultCommandUseCase, consultQueryUseCase, mapper, Runnable::run);
 
         Patient patient = Patient.builder()
                 .id(1L)
@@ -74,6 +88,7 @@ class GraphqlControllerTest {
                 .build();
 
         validResponseDto = mock(ConsultResponseDto.class);
+        validWindow = Window.from(List.of(validResponseDto), index -> ScrollPosition.offset(index));
         validRequestDto = mock(ConsultRequestDto.class);
         validFilterDto = mock(ConsultFilterRequestDto.class);
         validUpdateDto = mock(ConsultUpdateRequestDto.class);
@@ -84,52 +99,89 @@ class GraphqlControllerTest {
     class QueryMappingTests {
 
         @Test
-        @DisplayName("Should return filtered consults successfully")
+        @DisplayName("Should return filtered consults page successfully")
         void shouldReturnFilteredConsultsSuccessfully() {
             // Given
-            List<Consult> consultList = List.of(validConsult);
-            List<ConsultResponseDto> expectedResponse = List.of(validResponseDto);
-            
+            ConsultPage page = ConsultPage.of(List.of(validConsult), false);
+            ConsultFilter filter = mock(ConsultFilter.class);
+
+            when(validFilterDto.limit()).thenReturn(null);
             when(mapper.toConsultFilter(any(ConsultFilterRequestDto.class)))
-                    .thenReturn(mock(ConsultFilter.class));
-            when(consultQueryUseCase.findWithFilters(any(ConsultFilter.class)))
-                    .thenReturn(consultList);
-            when(mapper.toConsultResponse(any(List.class)))
-                    .thenReturn(expectedResponse);
+                    .thenReturn(filter);
+            when(consultQueryUseCase.findPage(any(ConsultFilter.class), isNull(), eq(10), anySet()))
+                    .thenReturn(page);
+            when(mapper.toConsultWindow(page))
+                    .thenReturn(validWindow);
 
             // When
-            List<ConsultResponseDto> result = graphqlController.getFilteredConsults(validFilterDto);
+            Window<ConsultResponseDto> result = graphqlController.getFilteredConsults(validFilterDto, ScrollSubrange.create(null, 10, true), null).join();
 
             // Then
             assertNotNull(result);
-            assertEquals(1, result.size());
-            assertEquals(expectedResponse, result);
-            
+            assertEquals(validWindow, result);
+
             verify(mapper, times(1)).toConsultFilter(validFilterDto);
-            verify(consultQueryUseCase, times(1)).findWithFilters(any(ConsultFilter.class));
-            verify(mapper, times(1)).toConsultResponse(consultList);
+            verify(consultQueryUseCase, times(1)).findPage(eq(filter), isNull(), eq(10), anySet());
+            verify(mapper, times(1)).toConsultWindow(page);
         }
 
         @Test
-        @DisplayName("Should return all consults successfully")
+        @DisplayName("Should return filtered consults page when the filter is omitted")
+        void shouldReturnFilteredConsultsWithoutFilter() {
+            // Given
+            ConsultPage page = ConsultPage.of(List.of(validConsult), false);
+            when(consultQueryUseCase.findPage(isNull(), isNull(), eq(20), anySet())).thenReturn(page);
+            when(mapper.toConsultWindow(page)).thenReturn(validWindow);
+
+            // When
+            Window<ConsultResponseDto> result = graphqlController.getFilteredConsults(null, ScrollSubrange.create(null, null, true), null).join();
+
+            // Then
+            assertEquals(validWindow, result);
+            verify(mapper, never()).toConsultFilter(any());
+            verify(consultQueryUseCase, times(1)).findPage(isNull(), isNull(), eq(20), anySet());
+        }
+
+        @Test
+        @DisplayName("Should return all consults page using default page size")
         void shouldReturnAllConsultsSuccessfully() {
             // Given
-            List<Consult> consultList = List.of(validConsult);
-            
-            when(consultQueryUseCase.findAll()).thenReturn(consultList);
-            when(mapper.toConsultResponse(any(Consult.class)))
-                    .thenReturn(validResponseDto);
+            ConsultPage page = ConsultPage.of(List.of(validConsult), true);
+
+            when(consultQueryUseCase.findPage(isNull(), isNull(), eq(20), anySet())).thenReturn(page);
+            when(mapper.toConsultWindow(page))
+                    .thenReturn(validWindow);
 
             // When
-            List<ConsultResponseDto> result = graphqlController.getAllConsults();
+            Window<ConsultResponseDto> result = graphqlController.getAllConsults(ScrollSubrange.create(null, null, true), null).join();
 
             // Then
             assertNotNull(result);
-            assertEquals(1, result.size());
-            assertEquals(validResponseDto, result.get(0));
-            
-            verify(consultQueryUseCase, times(1)).findAll();
-            verify(mapper, times(1)).toConsultResponse(validConsult);
+            assertEquals(validWindow, result);
+
+            verify(consultQueryUseCase, times(1)).findPage(isNull(), isNull(), eq(20), anySet());
+            verify(mapper, times(1)).toConsultWindow(page);
+        }
+
+        @Test
+        @DisplayName("Should resume page after the decoded cursor")
+        void shouldResumePageAfterDecodedCursor() {
+            // Given
+            ConsultCursor cursor = ConsultCursor.from(validConsult);
+            ConsultPage page = ConsultPage.empty();
+
+            ScrollSubrange subrange = ScrollSubrange.create(ScrollPosition.keyset(), 5, true);
+            when(mapper.toConsultCursor(subrange)).thenReturn(cursor);
+            when(consultQueryUseCase.findPage(isNull(), eq(cursor), eq(5), anySet())).thenReturn(page);
+            when(mapper.toConsultWindow(page)).thenReturn(validWindow);
+
+            // When
+            Window<ConsultResponseDto> result = graphqlController.getAllConsults(subrange, null).join();
+
+            // Then
+            assertEquals(validWindow, result);
+            verify(consultQueryUseCase, times(1)).findPage(isNull(), eq(cursor), eq(5), anySet());
+            verify(mapper, times(1)).toConsultWindow(page);
         }
 
         @Test
@@ -139,16 +191,54 @@ class GraphqlControllerTest {
             RuntimeException useCaseException = new RuntimeException("Query failed");
             when(mapper.toConsultFilter(any(ConsultFilterRequestDto.class)))
                     .thenReturn(mock(ConsultFilter.class));
-            when(consultQueryUseCase.findWithFilters(any(ConsultFilter.class)))
+            when(consultQueryUseCase.findPage(any(ConsultFilter.class), isNull(), anyInt(), anySet()))
                     .thenThrow(useCaseException);
 
             // When & Then
-            RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                    graphqlController.getFilteredConsults(validFilterDto)
+            CompletionException exception = assertThrows(CompletionException.class, () ->
+                    graphqlController.getFilteredConsults(validFilterDto, ScrollSubrange.create(null, null, true), null).join()
             );
 
-            assertEquals("Query failed", exception.getMessage());
-            verify(consultQueryUseCase, times(1)).findWithFilters(any(ConsultFilter.class));
+            assertEquals("Query failed", exception.getCause().getMessage());
+            verify(consultQueryUseCase, times(1)).findPage(any(ConsultFilter.class), isNull(), anyInt(), anySet());
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Query Tests")
+    class AsyncQueryTests {
+
+        @Test
+        @DisplayName("Should run independent root queries concurrently on the query executor")
+        void shouldRunRootQueriesConcurrently() throws Exception {
+            // Given
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            GraphqlController controller = new GraphqlController(consultCommandUseCase, consultQueryUseCase, mapper, executor);
+            CountDownLatch bothRunning = new CountDownLatch(2);
+            ConsultPage page = ConsultPage.empty();
+
+            when(mapper.toConsultFilter(any(ConsultFilterRequestDto.class))).thenReturn(mock(ConsultFilter.class));
+            when(consultQueryUseCase.findPage(any(), isNull(), anyInt(), anySet())).thenAnswer(invocation -> {
+                bothRunning.countDown();
+                // Each query only finishes once the other one has started
+                assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+                return page;
+            });
+            when(mapper.toConsultWindow(page)).thenReturn(validWindow);
+
+            try {
+                // When
+                CompletableFuture<Window<ConsultResponseDto>> filtered =
+                        controller.getFilteredConsults(validFilterDto, ScrollSubrange.create(null, null, true), null);
+                CompletableFuture<Window<ConsultResponseDto>> all =
+                        controller.getAllConsults(ScrollSubrange.create(null, null, true), null);
+
+                // Then
+                assertEquals(validWindow, filtered.get(5, TimeUnit.SECONDS));
+                assertEquals(validWindow, all.get(5, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
         }
     }
 
@@ -306,7 +396,7 @@ class GraphqlControllerTest {
 
             // When & Then - Verify that controller has expected dependencies
             GraphqlController controller = new GraphqlController(
-                    consultCommandUseCase, consultQueryUseCase, mapper
+                    consultCommandUseCase, consultQueryUseCase, mapper, Runnable::run
             );
 
             assertNotNull(controller);
@@ -0,0 +1,134 @@
+package com.fiap.easyconsult.unit.domain.model;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.exception.DomainException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConsultFilter Domain Model Tests")
+class ConsultFilterTest {
+
+    private LocalDate date;
+    private Consult consult;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(7);
+        consult = Consult.builder()
+                .id(1L)
+                .reason("Consulta de rotina")
+                .patient(Patient.builder().id(1L).name("João Silva").email("joao@example.com").build())
+                .professional(Professional.builder().id(1L).name("Dr. Maria Santos").email("maria@example.com").build())
+                .dateTime(date, LocalTime.of(14, 30))
+                .status(ConsultStatus.SCHEDULED)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Range and IN Matching Tests")
+    class MatchingTests {
+
+        @Test
+        @DisplayName("Should match inclusive date and time ranges")
+        void shouldMatchInclusiveRanges() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder()
+                    .dateFrom(date)
+                    .dateTo(date.plusDays(1))
+                    .timeFrom(LocalTime.of(14, 30))
+                    .timeTo(LocalTime.of(18, 0))
+                    .build();
+
+            // When & Then
+            assertTrue(filter.matches(consult));
+            assertFalse(filter.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should not match consult outside the time window")
+        void shouldNotMatchOutsideTimeWindow() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder()
+                    .timeFrom(LocalTime.of(8, 0))
+                    .timeTo(LocalTime.of(12, 0))
+                    .build();
+
+            // When & Then
+            assertFalse(filter.matches(consult));
+        }
+
+        @Test
+        @DisplayName("Should match any of the listed statuses")
+        void shouldMatchAnyListedStatus() {
+            // Given
+            ConsultFilter matching = ConsultFilter.builder()
+                    .statusIn(List.of(ConsultStatus.SCHEDULED, ConsultStatus.CARRIED_OUT))
+                    .build();
+            ConsultFilter notMatching = ConsultFilter.builder()
+                    .statusIn(List.of(ConsultStatus.CANCELLED))
+                    .build();
+
+            // When & Then
+            assertTrue(matching.matches(consult));
+            assertFalse(notMatching.matches(consult));
+        }
+
+        @Test
+        @DisplayName("Should reject date range with start after end")
+        void shouldRejectInvertedDateRange() {
+            // Given & When & Then
+            DomainException exception = assertThrows(DomainException.class, () ->
+                    ConsultFilter.builder().dateFrom(date.plusDays(1)).dateTo(date).build());
+
+            assertEquals("INVALID_FILTER", exception.getCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Key Tests")
+    class CacheKeyTests {
+
+        @Test
+        @DisplayName("Should produce the same key for equal filters regardless of status order")
+        void shouldProduceSameKeyForEqualFilters() {
+            // Given
+            ConsultFilter first = ConsultFilter.builder()
+                    .dateFrom(date)
+                    .statusIn(List.of(ConsultStatus.CANCELLED, ConsultStatus.SCHEDULED))
+                    .build();
+            ConsultFilter second = ConsultFilter.builder()
+                    .dateFrom(date)
+                    .statusIn(List.of(ConsultStatus.SCHEDULED, ConsultStatus.CANCELLED))
+                    .build();
+
+            // When & Then
+            assertEquals(first, second);
+            assertEquals(first.hashCode(), second.hashCode());
+            assertEquals(first.toString(), second.toString());
+        }
+
+        @Test
+        @DisplayName("Should produce different keys when a range bound differs")
+        void shouldProduceDifferentKeyWhenRangeDiffers() {
+            // Given
+            ConsultFilter first = ConsultFilter.builder().timeFrom(LocalTime.of(8, 0)).build();
+            ConsultFilter second = ConsultFilter.builder().timeFrom(LocalTime.of(9, 0)).build();
+
+            // When & Then
+            assertNotEquals(first, second);
+            assertNotEquals(first.toString(), second.toString());
+        }
+    }
+}
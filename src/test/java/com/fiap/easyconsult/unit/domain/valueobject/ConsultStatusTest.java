@@ -5,6 +5,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -80,4 +83,37 @@ class ConsultStatusTest {
             assertTrue(status.isFinalized());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Status Transition Tests")
+    class StatusTransitionTests {
+
+        @Test
+        @DisplayName("SCHEDULED can move to a final status only")
+        void scheduledCanMoveToFinalStatus() {
+            // Given
+            ConsultStatus status = ConsultStatus.SCHEDULED;
+
+            // When & Then
+            assertTrue(status.canTransitionTo(ConsultStatus.CARRIED_OUT));
+            assertTrue(status.canTransitionTo(ConsultStatus.CANCELLED));
+            assertFalse(status.canTransitionTo(ConsultStatus.SCHEDULED));
+        }
+
+        @Test
+        @DisplayName("Finalized statuses cannot transition")
+        void finalizedStatusesCannotTransition() {
+            // When & Then
+            assertFalse(ConsultStatus.CARRIED_OUT.canTransitionTo(ConsultStatus.CANCELLED));
+            assertFalse(ConsultStatus.CANCELLED.canTransitionTo(ConsultStatus.CARRIED_OUT));
+        }
+
+        @Test
+        @DisplayName("Sources of a target status are the statuses allowed to move into it")
+        void sourcesOfTargetStatus() {
+            // When & Then
+            assertEquals(Set.of(ConsultStatus.SCHEDULED), ConsultStatus.sourcesOf(ConsultStatus.CARRIED_OUT));
+            assertTrue(ConsultStatus.sourcesOf(ConsultStatus.SCHEDULED).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.fiap.easyconsult.unit.domain.valueobject;
+
+import com.fiap.easyconsult.core.domain.valueobject.DayOccupancy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DayOccupancy Value Object Tests")
+class DayOccupancyTest {
+
+    private static final LocalTime OPEN = LocalTime.of(8, 0);
+    private static final LocalTime CLOSE = LocalTime.of(12, 0);
+
+    @Nested
+    @DisplayName("Free Slot Search Tests")
+    class FreeSlotSearchTests {
+
+        @Test
+        @DisplayName("Should offer the whole opening hours of an empty day")
+        void shouldOfferWholeOpeningHours() {
+            // Given
+            DayOccupancy occupancy = DayOccupancy.of(OPEN, CLOSE, List.of(), 30);
+
+            // When
+            List<LocalTime> slots = occupancy.freeSlots(LocalTime.MIDNIGHT, 60);
+
+            // Then
+            assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(11, 0)), slots);
+        }
+
+        @Test
+        @DisplayName("Should skip booked consults and start each gap right after them")
+        void shouldSkipBookedConsults() {
+            // Given
+            DayOccupancy occupancy = DayOccupancy.of(OPEN, CLOSE,
+                    List.of(LocalTime.of(8, 30), LocalTime.of(10, 0)), 30);
+
+            // When
+            List<LocalTime> slots = occupancy.freeSlots(LocalTime.MIDNIGHT, 45);
+
+            // Then
+            assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(10, 30), LocalTime.of(11, 15)), slots);
+        }
+
+        @Test
+        @DisplayName("Should not offer slots before the given time")
+        void shouldNotOfferSlotsBeforeNotBefore() {
+            // Given
+            DayOccupancy occupancy = DayOccupancy.of(OPEN, CLOSE, List.of(), 30);
+
+            // When
+            List<LocalTime> slots = occupancy.freeSlots(LocalTime.of(11, 10), 30);
+
+            // Then
+            assertEquals(List.of(LocalTime.of(11, 10)), slots);
+        }
+
+        @Test
+        @DisplayName("Should return no slot when the day is fully booked")
+        void shouldReturnNoSlotForFullDay() {
+            // Given
+            DayOccupancy occupancy = DayOccupancy.of(OPEN, LocalTime.of(9, 0),
+                    List.of(LocalTime.of(8, 0), LocalTime.of(8, 30)), 30);
+
+            // When & Then
+            assertTrue(occupancy.freeSlots(LocalTime.MIDNIGHT, 15).isEmpty());
+        }
+    }
+}
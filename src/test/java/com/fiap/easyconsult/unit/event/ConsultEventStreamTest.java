@@ -0,0 +1,98 @@
+package com.fiap.easyconsult.unit.event;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
+import com.fiap.easyconsult.infra.event.ConsultEventStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConsultEventStream Tests")
+class ConsultEventStreamTest {
+
+    private ConsultEventStream eventStream;
+
+    @BeforeEach
+    void setUp() {
+        eventStream = new ConsultEventStream(4);
+    }
+
+    private Consult consult(long id, String patientEmail) {
+        return Consult.builder()
+                .id(id)
+                .reason("Consulta de rotina")
+                .patient(Patient.builder().id(id).name("Paciente").email(patientEmail).build())
+                .professional(Professional.builder().id(id).name("Dr. Maria").email("maria@example.com").build())
+                .dateTime(LocalDate.now().plusDays(1), LocalTime.of(10, 0))
+                .status(ConsultStatus.SCHEDULED)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Fan-out Tests")
+    class FanOutTests {
+
+        @Test
+        @DisplayName("Should deliver only events matching each subscriber filter")
+        void shouldDeliverOnlyMatchingEvents() throws Exception {
+            // Given
+            ConsultFilter joaoFilter = ConsultFilter.builder().patientEmail("joao@example.com").build();
+            CompletableFuture<List<ConsultChangedEvent>> joao = eventStream.subscribe(joaoFilter::matches)
+                    .take(1).collectList().toFuture();
+            CompletableFuture<List<ConsultChangedEvent>> all = eventStream.subscribe(c -> true)
+                    .take(2).collectList().toFuture();
+
+            // When
+            eventStream.onConsultChanged(new ConsultChangedEvent(ConsultChangeType.CREATED, consult(1L, "ana@example.com")));
+            eventStream.onConsultChanged(new ConsultChangedEvent(ConsultChangeType.UPDATED, consult(2L, "joao@example.com")));
+
+            // Then
+            List<ConsultChangedEvent> joaoEvents = joao.get(1, TimeUnit.SECONDS);
+            assertEquals(1, joaoEvents.size());
+            assertEquals(ConsultChangeType.UPDATED, joaoEvents.getFirst().type());
+            assertEquals(2, all.get(1, TimeUnit.SECONDS).size());
+        }
+
+        @Test
+        @DisplayName("Should not let a slow subscriber hold back the others")
+        void shouldNotLetSlowSubscriberHoldBackOthers() throws Exception {
+            // Given
+            BaseSubscriber<ConsultChangedEvent> slow = new BaseSubscriber<>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    request(1);
+                }
+            };
+            eventStream.subscribe(c -> true).subscribe(slow);
+            CompletableFuture<List<ConsultChangedEvent>> fast = eventStream.subscribe(c -> true)
+                    .take(10).collectList().toFuture();
+
+            // When
+            for (long id = 1; id <= 10; id++) {
+                eventStream.onConsultChanged(new ConsultChangedEvent(ConsultChangeType.CREATED, consult(id, "ana@example.com")));
+            }
+
+            // Then
+            List<ConsultChangedEvent> fastEvents = fast.get(1, TimeUnit.SECONDS);
+            assertEquals(10, fastEvents.size());
+            assertFalse(slow.isDisposed());
+            slow.dispose();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fiap.easyconsult.unit.gateway;
+
+import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.Patient;
+import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.infra.adapter.gateway.ConsultOccupancyIndex;
+import com.fiap.easyconsult.infra.event.ConsultChangeType;
+import com.fiap.easyconsult.infra.event.ConsultChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ConsultOccupancyIndex Tests")
+class ConsultOccupancyIndexTest {
+
+    private static final String EMAIL = "maria@example.com";
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private ConsultOccupancyIndex index;
+    private TypedQuery<Tuple> query;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        index = new ConsultOccupancyIndex("08:00", "18:00", 30, 100, Duration.ofMinutes(5));
+        EntityManager entityManager = mock(EntityManager.class);
+        query = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        ReflectionTestUtils.setField(index, "entityManager", entityManager);
+    }
+
+    private Tuple row(long id, LocalTime time) {
+        Tuple row = mock(Tuple.class);
+        when(row.get("id", Long.class)).thenReturn(id);
+        when(row.get("localDate", LocalDate.class)).thenReturn(DAY);
+        when(row.get("localTime", LocalTime.class)).thenReturn(time);
+        return row;
+    }
+
+    private ConsultChangedEvent created(long id, LocalTime time) {
+        Consult consult = Consult.builder()
+                .id(id)
+                .reason("Consulta de rotina")
+                .patient(Patient.builder().id(id).name("Paciente").email("paciente@example.com").build())
+                .professional(Professional.builder().id(1L).name("Dr. Maria").email(EMAIL).build())
+                .dateTime(DAY, time)
+                .status(ConsultStatus.SCHEDULED)
+                .build();
+        return new ConsultChangedEvent(ConsultChangeType.CREATED, consult);
+    }
+
+    private List<LocalTime> freeSlots() {
+        return index.occupancy(EMAIL, DAY, DAY).get(DAY).freeSlots(LocalTime.of(8, 0), 30);
+    }
+
+    @Nested
+    @DisplayName("Load Tests")
+    class LoadTests {
+
+        @Test
+        @DisplayName("Should keep a loaded day and serve it without querying again")
+        void shouldCacheLoadedDay() {
+            // Given
+            List<Tuple> rows = List.of(row(1, LocalTime.of(9, 0)));
+            when(query.getResultList()).thenReturn(rows);
+
+            // When
+            freeSlots();
+            List<LocalTime> slots = freeSlots();
+
+            // Then
+            assertFalse(slots.contains(LocalTime.of(9, 0)));
+            verify(query, times(1)).getResultList();
+        }
+
+        @Test
+        @DisplayName("Should reload a day when a change commits between the query and the install")
+        void shouldReloadWhenChangedDuringQuery() {
+            // Given
+            List<Tuple> before = List.of(row(1, LocalTime.of(9, 0)));
+            List<Tuple> after = List.of(row(1, LocalTime.of(9, 0)), row(2, LocalTime.of(10, 0)));
+            when(query.getResultList())
+                    .thenAnswer(invocation -> {
+                        // The query already read its rows when the new consult commits
+                        index.onConsultChanged(created(2, LocalTime.of(10, 0)));
+                        return before;
+                    })
+                    .thenReturn(after);
+
+            // When
+            List<LocalTime> slots = freeSlots();
+            List<LocalTime> cached = freeSlots();
+
+            // Then
+            assertFalse(slots.contains(LocalTime.of(10, 0)));
+            assertFalse(cached.contains(LocalTime.of(10, 0)));
+            assertTrue(cached.contains(LocalTime.of(10, 30)));
+            verify(query, times(2)).getResultList();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.fiap.easyconsult.unit.gateway;
+
+import com.fiap.easyconsult.infra.adapter.gateway.SingleFlight;
+import com.fiap.easyconsult.infra.exception.GatewayException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Nested
+    @DisplayName("Coalescing Tests")
+    class CoalescingTests {
+
+        @Test
+        @DisplayName("Should run one call for concurrent callers with the same key")
+        void shouldRunOneCallForConcurrentCallers() throws Exception {
+            // Given
+            AtomicInteger calls = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(4);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            try {
+                // When
+                List<CompletableFuture<String>> results = IntStream.range(0, 4)
+                        .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                            started.countDown();
+                            return singleFlight.execute("same-key", () -> {
+                                calls.incrementAndGet();
+                                await(release);
+                                return "result";
+                            });
+                        }, executor))
+                        .toList();
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                waitUntilInFlight();
+                Thread.sleep(100);
+                release.countDown();
+
+                // Then
+                for (CompletableFuture<String> result : results) {
+                    assertEquals("result", result.get(5, TimeUnit.SECONDS));
+                }
+                assertEquals(1, calls.get());
+                assertEquals(0, singleFlight.inFlight());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should run again once the previous call completed")
+        void shouldRunAgainAfterCompletion() {
+            // Given
+            AtomicInteger calls = new AtomicInteger();
+
+            // When
+            singleFlight.execute("key", calls::incrementAndGet);
+            singleFlight.execute("key", calls::incrementAndGet);
+
+            // Then
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        @DisplayName("Should not merge calls with different keys")
+        void shouldNotMergeDifferentKeys() {
+            // When
+            String first = singleFlight.execute(List.of("findPage", 1), () -> "first");
+            String second = singleFlight.execute(List.of("findPage", 2), () -> "second");
+
+            // Then
+            assertEquals("first", first);
+            assertEquals("second", second);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure Tests")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should propagate the same exception to waiting callers")
+        void shouldPropagateExceptionToWaiters() throws Exception {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+            GatewayException failure = new GatewayException("Failed to read consults.", "DATABASE_ERROR");
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            try {
+                // When
+                CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+                    await(release);
+                    throw failure;
+                }), executor);
+                waitUntilInFlight();
+                CompletableFuture<Object> waiter = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> "not called"), executor);
+                Thread.sleep(100);
+                release.countDown();
+
+                // Then
+                Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+                Exception waiterError = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+                assertSame(failure, leaderError.getCause());
+                assertSame(failure, waiterError.getCause());
+                assertEquals(0, singleFlight.inFlight());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void waitUntilInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.inFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
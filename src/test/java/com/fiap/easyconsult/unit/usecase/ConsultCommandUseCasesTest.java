@@ -1,10 +1,13 @@
 package com.fiap.easyconsult.unit.usecase;
 
 import com.fiap.easyconsult.core.domain.model.Consult;
+import com.fiap.easyconsult.core.domain.model.ConsultCreationResult;
+import com.fiap.easyconsult.core.domain.model.ConsultFilter;
 import com.fiap.easyconsult.core.domain.model.Patient;
 import com.fiap.easyconsult.core.domain.model.Professional;
 import com.fiap.easyconsult.core.domain.model.UpdateConsult;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.exception.DomainException;
 import com.fiap.easyconsult.core.outputport.DeleteGateway;
 import com.fiap.easyconsult.core.outputport.SaveGateway;
 import com.fiap.easyconsult.core.outputport.UpdateGateway;
@@ -19,6 +22,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -120,6 +125,54 @@ class ConsultCommandUseCasesTest {
         }
     }
 
+    @Nested
+    @DisplayName("Create Consults Batch Tests")
+    class createConsultsTests {
+
+        @Test
+        @DisplayName("Should delegate the whole batch to the save gateway in one call")
+        void shouldDelegateBatchToSaveGateway() {
+            // Given
+            List<Consult> consults = List.of(validConsult, validConsult);
+            List<ConsultCreationResult> expected = List.of(
+                    ConsultCreationResult.created(0, validConsult),
+                    ConsultCreationResult.failed(1, "CONSULT_VALIDATION_ERROR", "conflict"));
+            when(saveGateway.saveAll(consults)).thenReturn(expected);
+
+            // When
+            List<ConsultCreationResult> result = consultCommandUseCases.createConsults(consults);
+
+            // Then
+            assertSame(expected, result);
+            verify(saveGateway, times(1)).saveAll(consults);
+            verify(saveGateway, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should return empty results without touching the gateway for an empty batch")
+        void shouldReturnEmptyForEmptyBatch() {
+            // When
+            List<ConsultCreationResult> result = consultCommandUseCases.createConsults(List.of());
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(saveGateway);
+        }
+
+        @Test
+        @DisplayName("Should reject batches above the maximum size")
+        void shouldRejectOversizedBatch() {
+            // Given
+            List<Consult> consults = Collections.nCopies(ConsultCommandUseCases.MAX_BATCH_SIZE + 1, validConsult);
+
+            // When & Then
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultCommandUseCases.createConsults(consults));
+            assertEquals("INVALID_BATCH_SIZE", exception.getCode());
+            verifyNoInteractions(saveGateway);
+        }
+    }
+
     @Nested
     @DisplayName("Update Consult Tests")
     class updateConsultTests {
@@ -174,6 +227,52 @@ class ConsultCommandUseCasesTest {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk Update Status Tests")
+    class updateStatusTests {
+
+        @Test
+        @DisplayName("Should delegate bulk status update to the update gateway")
+        void shouldDelegateBulkStatusUpdate() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder().date(LocalDate.now()).build();
+            when(updateGateway.updateStatus(filter, ConsultStatus.CARRIED_OUT)).thenReturn(List.of(validConsult));
+
+            // When
+            List<Consult> result = consultCommandUseCases.updateStatus(filter, ConsultStatus.CARRIED_OUT);
+
+            // Then
+            assertEquals(List.of(validConsult), result);
+            verify(updateGateway, times(1)).updateStatus(filter, ConsultStatus.CARRIED_OUT);
+        }
+
+        @Test
+        @DisplayName("Should reject bulk update without filter criteria")
+        void shouldRejectEmptyFilter() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder().build();
+
+            // When & Then
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultCommandUseCases.updateStatus(filter, ConsultStatus.CARRIED_OUT));
+            assertEquals("FILTER_REQUIRED", exception.getCode());
+            verifyNoInteractions(updateGateway);
+        }
+
+        @Test
+        @DisplayName("Should reject a target status no consult can transition to")
+        void shouldRejectUnreachableStatus() {
+            // Given
+            ConsultFilter filter = ConsultFilter.builder().date(LocalDate.now()).build();
+
+            // When & Then
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultCommandUseCases.updateStatus(filter, ConsultStatus.SCHEDULED));
+            assertEquals("INVALID_STATUS_TRANSITION", exception.getCode());
+            verifyNoInteractions(updateGateway);
+        }
+    }
+
     @Nested
     @DisplayName("Delete Consult Tests")
     class deleteConsultTests {
@@ -1,13 +1,22 @@
 package com.fiap.easyconsult.unit.usecase;
 
+import com.fiap.easyconsult.core.domain.model.AvailableSlot;
 import com.fiap.easyconsult.core.domain.model.Consult;
 import com.fiap.easyconsult.core.domain.model.ConsultFilter;
+import com.fiap.easyconsult.core.domain.model.ConsultPage;
+import com.fiap.easyconsult.core.domain.model.ConsultStats;
 import com.fiap.easyconsult.core.domain.model.Patient;
 import com.fiap.easyconsult.core.domain.model.Professional;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultCursor;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultOrder;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultSortField;
+import com.fiap.easyconsult.core.domain.valueobject.ConsultStatsGroup;
 import com.fiap.easyconsult.core.domain.valueobject.ConsultStatus;
+import com.fiap.easyconsult.core.domain.valueobject.DayOccupancy;
+import com.fiap.easyconsult.core.exception.DomainException;
 import com.fiap.easyconsult.core.outputport.FindByGateway;
 import com.fiap.easyconsult.core.usecase.ConsultQueryUseCases;
-import com.fiap.easyconsult.infra.exception.GatewayException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,11 +27,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -66,191 +78,268 @@ class ConsultQueryUseCasesTest {
     }
 
     @Nested
-    @DisplayName("Find With Filters Tests")
-    class FindWithFiltersTests {
+    @DisplayName("Find Page Tests")
+    class FindPageTests {
 
         @Test
-        @DisplayName("Should return consults when filter matches results")
-        void shouldReturnConsultsWhenFilterMatchesResults() {
+        @DisplayName("Should return page from gateway")
+        void shouldReturnPageFromGateway() {
             // Given
-            when(findByGateway.findWithFilters(any(ConsultFilter.class)))
-                    .thenReturn(validConsultList);
+            ConsultPage page = ConsultPage.of(validConsultList, true);
+            when(findByGateway.findPage(validFilter, null, 10, ConsultField.all())).thenReturn(page);
 
             // When
-            List<Consult> result = consultQueryUseCases.findWithFilters(validFilter);
+            ConsultPage result = consultQueryUseCases.findPage(validFilter, null, 10);
 
             // Then
-            assertNotNull(result);
-            assertEquals(1, result.size());
-            assertEquals(validConsultList.getFirst().getId(), result.getFirst().getId());
-            assertEquals(validConsultList.getFirst().getReason(), result.getFirst().getReason());
-            
-            verify(findByGateway, times(1)).findWithFilters(validFilter);
+            assertSame(page, result);
+            assertTrue(result.hasNextPage());
+            assertEquals(ConsultCursor.from(validConsultList.getFirst()), result.getEndCursor());
+            verify(findByGateway, times(1)).findPage(validFilter, null, 10, ConsultField.all());
         }
 
         @Test
-        @DisplayName("Should throw exception when No consults found with filter")
-        void shouldThrowExceptionWhenNoConsultsFoundWithFilter() {
+        @DisplayName("Should pass only the requested fields to the gateway")
+        void shouldPassRequestedFieldsToGateway() {
             // Given
-            when(findByGateway.findWithFilters(any(ConsultFilter.class)))
-                    .thenReturn(Collections.emptyList());
+            Set<ConsultField> fields = Set.of(ConsultField.STATUS);
+            when(findByGateway.findPage(null, null, 20, fields)).thenReturn(ConsultPage.empty());
 
-            // When & Then
-            GatewayException exception = assertThrows(GatewayException.class, () ->
-                    consultQueryUseCases.findWithFilters(validFilter)
-            );
+            // When
+            consultQueryUseCases.findPage(null, null, 20, fields);
 
-            assertEquals("No consults found for the given filter.", exception.getMessage());
-            assertEquals("CONSULT_NOT_FOUND", exception.getCode());
-            verify(findByGateway, times(1)).findWithFilters(validFilter);
+            // Then
+            verify(findByGateway, times(1)).findPage(null, null, 20, fields);
         }
 
         @Test
-        @DisplayName("Should throw exception when gateway returns null")
-        void shouldThrowExceptionWhenGatewayReturnsNull() {
+        @DisplayName("Should return empty page when gateway returns null")
+        void shouldReturnEmptyPageWhenGatewayReturnsNull() {
             // Given
-            when(findByGateway.findWithFilters(any(ConsultFilter.class)))
-                    .thenReturn(null);
+            when(findByGateway.findPage(any(), any(), anyInt(), any())).thenReturn(null);
 
-            // When & Then
-            GatewayException exception = assertThrows(GatewayException.class, () ->
-                    consultQueryUseCases.findWithFilters(validFilter)
-            );
+            // When
+            ConsultPage result = consultQueryUseCases.findPage(null, null, 20);
 
-            assertEquals("No consults found for the given filter.", exception.getMessage());
-            assertEquals("CONSULT_NOT_FOUND", exception.getCode());
-            verify(findByGateway, times(1)).findWithFilters(validFilter);
+            // Then
+            assertTrue(result.isEmpty());
+            assertFalse(result.hasNextPage());
+            assertNull(result.getEndCursor());
+        }
+
+        @Test
+        @DisplayName("Should reject page size out of bounds")
+        void shouldRejectPageSizeOutOfBounds() {
+            // When & Then
+            DomainException tooSmall = assertThrows(DomainException.class, () ->
+                    consultQueryUseCases.findPage(null, null, 0));
+            DomainException tooLarge = assertThrows(DomainException.class, () ->
+                    consultQueryUseCases.findPage(null, null, ConsultQueryUseCases.MAX_PAGE_SIZE + 1));
+
+            assertEquals("INVALID_PAGE_SIZE", tooSmall.getCode());
+            assertEquals("INVALID_PAGE_SIZE", tooLarge.getCode());
+            verifyNoInteractions(findByGateway);
         }
 
         @Test
-        @DisplayName("Should propagate exception when gateway fails")
-        void shouldPropagateExceptionWhenGatewayFails() {
+        @DisplayName("Should reject a cursor issued for another ordering")
+        void shouldRejectCursorFromAnotherOrdering() {
             // Given
-            RuntimeException gatewayException = new RuntimeException("Database error");
-            when(findByGateway.findWithFilters(any(ConsultFilter.class)))
-                    .thenThrow(gatewayException);
+            ConsultFilter filter = ConsultFilter.builder()
+                    .orderBy(List.of(ConsultOrder.desc(ConsultSortField.STATUS)))
+                    .build();
+            ConsultCursor after = ConsultCursor.of(LocalDate.now(), LocalTime.of(9, 0), 1L);
 
             // When & Then
-            RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                    consultQueryUseCases.findWithFilters(validFilter)
-            );
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultQueryUseCases.findPage(filter, after, 10));
+            assertEquals("INVALID_CURSOR", exception.getCode());
+            verifyNoInteractions(findByGateway);
+        }
+    }
+
+    @Nested
+    @DisplayName("Constructor Tests")
+    class ConstructorTests {
+
+        @Test
+        @DisplayName("Should create instance with required dependency")
+        void shouldCreateInstanceWithRequiredDependency() {
+            // Given & When
+            ConsultQueryUseCases useCases = new ConsultQueryUseCases(findByGateway);
 
-            assertEquals("Database error", exception.getMessage());
-            verify(findByGateway, times(1)).findWithFilters(validFilter);
+            // Then
+            assertNotNull(useCases);
         }
+    }
+
+    @Nested
+    @DisplayName("Find Participants Tests")
+    class FindParticipantsTests {
 
         @Test
-        @DisplayName("Should call gateway with correct filter")
-        void shouldCallGatewayWithCorrectFilter() {
+        @DisplayName("Should load all requested patients in one gateway call")
+        void shouldLoadPatientsInOneCall() {
             // Given
-            when(findByGateway.findWithFilters(any(ConsultFilter.class)))
-                    .thenReturn(validConsultList);
+            Patient patient = validConsultList.get(0).getPatient();
+            when(findByGateway.findPatientsByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, patient));
 
             // When
-            consultQueryUseCases.findWithFilters(validFilter);
+            Map<Long, Patient> result = consultQueryUseCases.findPatients(Set.of(1L, 2L));
 
             // Then
-            verify(findByGateway, times(1)).findWithFilters(validFilter);
+            assertEquals(Map.of(1L, patient), result);
+            verify(findByGateway, times(1)).findPatientsByIds(Set.of(1L, 2L));
+        }
+
+        @Test
+        @DisplayName("Should skip the gateway when no ids are requested")
+        void shouldSkipGatewayForEmptyIds() {
+            // When
+            Map<Long, Professional> result = consultQueryUseCases.findProfessionals(Set.of());
+
+            // Then
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(findByGateway);
         }
     }
 
     @Nested
-    @DisplayName("Find All Tests")
-    class FindAllTests {
+    @DisplayName("Consult Stats Tests")
+    class ConsultStatsTests {
 
         @Test
-        @DisplayName("Should return all consults when found")
-        void shouldReturnAllConsultsWhenFound() {
+        @DisplayName("Should delegate the grouping dimensions to the gateway")
+        void shouldDelegateGroupingToGateway() {
             // Given
-            when(findByGateway.findAll()).thenReturn(validConsultList);
+            Set<ConsultStatsGroup> groupBy = Set.of(ConsultStatsGroup.STATUS, ConsultStatsGroup.DATE);
+            List<ConsultStats> stats = List.of(
+                    new ConsultStats(ConsultStatus.SCHEDULED, LocalDate.now(), null, null, 3));
+            when(findByGateway.countGroupedBy(validFilter, EnumSet.of(ConsultStatsGroup.STATUS, ConsultStatsGroup.DATE)))
+                    .thenReturn(stats);
 
             // When
-            List<Consult> result = consultQueryUseCases.findAll();
+            List<ConsultStats> result = consultQueryUseCases.countConsults(validFilter, groupBy);
 
             // Then
-            assertNotNull(result);
-            assertEquals(1, result.size());
-            assertEquals(validConsultList.getFirst().getId(), result.getFirst().getId());
-            assertEquals(validConsultList.getFirst().getReason(), result.getFirst().getReason());
-            
-            verify(findByGateway, times(1)).findAll();
+            assertEquals(stats, result);
         }
 
         @Test
-        @DisplayName("Should throw exception when No consults found")
-        void shouldThrowExceptionWhenNoConsultsFound() {
+        @DisplayName("Should count the total when no dimension is requested")
+        void shouldCountTotalWithoutGrouping() {
             // Given
-            when(findByGateway.findAll()).thenReturn(Collections.emptyList());
+            when(findByGateway.countGroupedBy(null, EnumSet.noneOf(ConsultStatsGroup.class))).thenReturn(null);
 
-            // When & Then
-            GatewayException exception = assertThrows(GatewayException.class, () ->
-                    consultQueryUseCases.findAll()
-            );
+            // When
+            List<ConsultStats> result = consultQueryUseCases.countConsults(null, null);
 
-            assertEquals("No consults found.", exception.getMessage());
-            assertEquals("CONSULT_NOT_FOUND", exception.getCode());
-            verify(findByGateway, times(1)).findAll();
+            // Then
+            assertTrue(result.isEmpty());
+            verify(findByGateway).countGroupedBy(null, EnumSet.noneOf(ConsultStatsGroup.class));
         }
+    }
+
+    @Nested
+    @DisplayName("Search Consults Tests")
+    class SearchConsultsTests {
 
         @Test
-        @DisplayName("Should throw exception when gateway returns null")
-        void shouldThrowExceptionWhenGatewayReturnsNullInFindAll() {
+        @DisplayName("Should delegate trimmed text to the gateway")
+        void shouldDelegateTrimmedTextToGateway() {
             // Given
-            when(findByGateway.findAll()).thenReturn(null);
+            ConsultPage page = ConsultPage.of(validConsultList, false);
+            when(findByGateway.searchByText("dor lombar", validFilter, null, 10, ConsultField.all())).thenReturn(page);
+
+            // When
+            ConsultPage result = consultQueryUseCases.searchConsults("  dor lombar ", validFilter, null, 10, null);
 
+            // Then
+            assertSame(page, result);
+        }
+
+        @Test
+        @DisplayName("Should reject blank search text")
+        void shouldRejectBlankText() {
             // When & Then
-            GatewayException exception = assertThrows(GatewayException.class, () ->
-                    consultQueryUseCases.findAll()
-            );
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultQueryUseCases.searchConsults("   ", null, null, 10, null));
 
-            assertEquals("No consults found.", exception.getMessage());
-            assertEquals("CONSULT_NOT_FOUND", exception.getCode());
-            verify(findByGateway, times(1)).findAll();
+            assertEquals("INVALID_SEARCH_TEXT", exception.getCode());
+            verifyNoInteractions(findByGateway);
         }
 
         @Test
-        @DisplayName("Should propagate exception when findAll gateway fails")
-        void shouldPropagateExceptionWhenFindAllGatewayFails() {
+        @DisplayName("Should reject a cursor that was not issued by a search")
+        void shouldRejectCursorWithoutRank() {
             // Given
-            RuntimeException gatewayException = new RuntimeException("Connection error");
-            when(findByGateway.findAll()).thenThrow(gatewayException);
+            ConsultCursor after = ConsultCursor.of(LocalDate.now(), LocalTime.NOON, 1L);
 
             // When & Then
-            RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                    consultQueryUseCases.findAll()
-            );
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultQueryUseCases.searchConsults("retorno", null, after, 10, null));
 
-            assertEquals("Connection error", exception.getMessage());
-            verify(findByGateway, times(1)).findAll();
+            assertEquals("INVALID_CURSOR", exception.getCode());
         }
+    }
+
+    @Nested
+    @DisplayName("Available Slots Tests")
+    class AvailableSlotsTests {
 
         @Test
-        @DisplayName("Should call findAll exactly once")
-        void shouldCallFindAllExactlyOnce() {
+        @DisplayName("Should turn the free minutes of each day into slots")
+        void shouldReturnFreeSlotsPerDay() {
             // Given
-            when(findByGateway.findAll()).thenReturn(validConsultList);
+            LocalDate day = LocalDate.now().plusDays(1);
+            DayOccupancy occupancy = DayOccupancy.of(LocalTime.of(8, 0), LocalTime.of(9, 0), List.of(LocalTime.of(8, 0)), 30);
+            when(findByGateway.findOccupancy("maria@example.com", day, day)).thenReturn(Map.of(day, occupancy));
 
             // When
-            consultQueryUseCases.findAll();
+            List<AvailableSlot> result = consultQueryUseCases.findAvailableSlots("maria@example.com", day, day, 30);
 
             // Then
-            verify(findByGateway, times(1)).findAll();
-            verifyNoMoreInteractions(findByGateway);
+            assertEquals(List.of(new AvailableSlot(day, LocalTime.of(8, 30), LocalTime.of(9, 0))), result);
         }
-    }
 
-    @Nested
-    @DisplayName("Constructor Tests")
-    class ConstructorTests {
+        @Test
+        @DisplayName("Should reject ranges longer than the maximum")
+        void shouldRejectLongRanges() {
+            // Given
+            LocalDate from = LocalDate.now();
+            LocalDate to = from.plusDays(ConsultQueryUseCases.MAX_AVAILABILITY_DAYS);
+
+            // When & Then
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultQueryUseCases.findAvailableSlots("maria@example.com", from, to, 30));
+            assertEquals("INVALID_DATE_RANGE", exception.getCode());
+            verifyNoInteractions(findByGateway);
+        }
 
         @Test
-        @DisplayName("Should create instance with required dependency")
-        void shouldCreateInstanceWithRequiredDependency() {
-            // Given & When
-            ConsultQueryUseCases useCases = new ConsultQueryUseCases(findByGateway);
+        @DisplayName("Should reject slot durations out of bounds")
+        void shouldRejectInvalidSlotDuration() {
+            // Given
+            LocalDate day = LocalDate.now().plusDays(1);
+
+            // When & Then
+            DomainException exception = assertThrows(DomainException.class,
+                    () -> consultQueryUseCases.findAvailableSlots("maria@example.com", day, day, 0));
+            assertEquals("INVALID_SLOT_DURATION", exception.getCode());
+        }
+
+        @Test
+        @DisplayName("Should not query past days")
+        void shouldSkipPastDays() {
+            // Given
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+
+            // When
+            List<AvailableSlot> result = consultQueryUseCases.findAvailableSlots("maria@example.com", yesterday.minusDays(1), yesterday, 30);
 
             // Then
-            assertNotNull(useCases);
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(findByGateway);
         }
     }
 }